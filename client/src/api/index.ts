@@ -41,6 +41,12 @@ export const executionApi = {
         method: 'POST',
         body: JSON.stringify({ pipeId, sourcePath }),
     }),
+    // 드라이런 - 앞부분 레코드만 파싱하여 결과와 필드별 매칭률 확인 (Iceberg 쓰기 없음)
+    dryRun: (params: { pipeId?: string; pipe?: any; sourcePath?: string; limit?: number; files?: number }) =>
+        request<any>('/api/execution/dryrun', {
+            method: 'POST',
+            body: JSON.stringify(params),
+        }),
     getStatus: () => request<any>('/api/execution/status'),
     cancel: () => fetch(`${API_BASE}/api/execution`, { method: 'DELETE' }),
 };
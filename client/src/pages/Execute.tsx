@@ -17,6 +17,18 @@ interface Log {
     message: string;
 }
 
+// 실행 중 상태 조회로 받는 진행률
+interface Progress {
+    percent?: number;
+    etaMs?: number;
+    filesRead: number;
+    filesTotal: number;
+    tasksCompleted: number;
+    tasksTotal: number;
+}
+
+const PROGRESS_POLL_MS = 2000;
+
 export default function Execute() {
     const [searchParams] = useSearchParams();
     const [pipes, setPipes] = useState<Pipe[]>([]);
@@ -25,6 +37,7 @@ export default function Execute() {
     const [status, setStatus] = useState<'idle' | 'running' | 'success' | 'error'>('idle');
     const [logs, setLogs] = useState<Log[]>([]);
     const [showBrowser, setShowBrowser] = useState(false);
+    const [progress, setProgress] = useState<Progress | null>(null);
 
     useEffect(() => {
         pipesApi.list().then(setPipes).catch(console.error);
@@ -35,6 +48,20 @@ export default function Execute() {
         if (path) setSourcePath(path);
     }, [searchParams]);
 
+    // 실행 중에는 진행률을 주기적으로 조회
+    useEffect(() => {
+        if (status !== 'running') return;
+
+        const timer = setInterval(() => {
+            executionApi.getStatus()
+                .then((res) => {
+                    if (res.progress) setProgress(res.progress);
+                })
+                .catch(console.error);
+        }, PROGRESS_POLL_MS);
+        return () => clearInterval(timer);
+    }, [status]);
+
     async function handleExecute() {
         if (!selectedPipeId || !sourcePath) {
             alert('파이프와 소스 경로를 선택해주세요.');
@@ -43,6 +70,7 @@ export default function Execute() {
 
         setStatus('running');
         setLogs([]);
+        setProgress(null);
 
         try {
             const result = await executionApi.execute(selectedPipeId, sourcePath);
@@ -128,6 +156,22 @@ export default function Execute() {
                 </button>
             </div>
 
+            {status === 'running' && progress && (
+                <div className="execution-progress">
+                    <div className="progress-bar">
+                        <div className="progress-fill" style={{ width: `${progress.percent ?? 0}%` }} />
+                    </div>
+                    <div className="progress-info">
+                        <span>{progress.percent !== undefined ? `${progress.percent}%` : '-'}</span>
+                        <span>파일 {progress.filesRead}/{progress.filesTotal}</span>
+                        <span>태스크 {progress.tasksCompleted}/{progress.tasksTotal}</span>
+                        {progress.etaMs !== undefined && (
+                            <span>남은 시간 약 {Math.ceil(progress.etaMs / 1000)}초</span>
+                        )}
+                    </div>
+                </div>
+            )}
+
             {(logs.length > 0 || status !== 'idle') && (
                 <div className="execution-result">
                     <div className="result-header">
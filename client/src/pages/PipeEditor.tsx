@@ -1,7 +1,7 @@
 import { useEffect, useState } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
-import { ArrowLeft, Save, Plus, Trash2 } from 'lucide-react';
-import { pipesApi } from '../api';
+import { ArrowLeft, Save, Plus, Trash2, Play } from 'lucide-react';
+import { pipesApi, executionApi } from '../api';
 import './PipeEditor.css';
 
 interface Pipe {
@@ -50,11 +50,28 @@ interface Pipe {
     };
 }
 
+// 드라이런 응답 - 앞부분 레코드의 파싱 결과와 필드별 매칭률
+interface DryRunResult {
+    rows: Array<Record<string, any>>;
+    rowCount: number;
+    rejectedCount: number;
+    fieldStats: Array<{ name: string; matched: number; matchRate: number }>;
+    filesSampled: number;
+    filesTotal: number;
+    elapsedMs: number;
+    msPerRecord: number;
+}
+
+const DRY_RUN_PREVIEW_ROWS = 10;
+
 export default function PipeEditor() {
     const { id } = useParams<{ id: string }>();
     const navigate = useNavigate();
     const [loading, setLoading] = useState(!!id);
     const [saving, setSaving] = useState(false);
+    const [dryRunning, setDryRunning] = useState(false);
+    const [dryRunResult, setDryRunResult] = useState<DryRunResult | null>(null);
+    const [dryRunError, setDryRunError] = useState<string | null>(null);
     
     const [pipe, setPipe] = useState<Pipe>({
         name: '',
@@ -142,6 +159,27 @@ export default function PipeEditor() {
         }
     }
 
+    // 저장하지 않은 현재 설정으로 앞부분 레코드만 파싱 (Iceberg 쓰기 없음)
+    async function handleDryRun() {
+        if (!pipe.storagePath.trim()) {
+            alert('스토리지 경로를 입력하세요.');
+            return;
+        }
+
+        setDryRunning(true);
+        setDryRunError(null);
+        try {
+            const result = await executionApi.dryRun({ pipe });
+            setDryRunResult(result);
+        } catch (error) {
+            console.error('Dry run failed:', error);
+            setDryRunResult(null);
+            setDryRunError((error as Error).message);
+        } finally {
+            setDryRunning(false);
+        }
+    }
+
     function addSchemaColumn() {
         setPipe({
             ...pipe,
@@ -223,6 +261,10 @@ export default function PipeEditor() {
                     <ArrowLeft size={20} />
                 </button>
                 <h1>{id ? '파이프 수정' : '새 파이프 생성'}</h1>
+                <button className="dry-run-button" onClick={handleDryRun} disabled={dryRunning}>
+                    <Play size={18} />
+                    {dryRunning ? '드라이런 중...' : '드라이런'}
+                </button>
                 <button className="save-button" onClick={handleSave} disabled={saving}>
                     <Save size={18} />
                     {saving ? '저장 중...' : '저장'}
@@ -647,6 +689,66 @@ export default function PipeEditor() {
                         <small>Overwrite 모드는 파이프 재실행 시 기존 데이터를 모두 삭제합니다</small>
                     </div>
                 </section>
+
+                {(dryRunResult || dryRunError) && (
+                    <section className="editor-section dry-run-result">
+                        <h2>드라이런 결과</h2>
+                        {dryRunError && <div className="dry-run-error">{dryRunError}</div>}
+                        {dryRunResult && (
+                            <>
+                                <div className="dry-run-summary">
+                                    파일 {dryRunResult.filesSampled}/{dryRunResult.filesTotal}개에서
+                                    레코드 {dryRunResult.rowCount}개 파싱 (거부 {dryRunResult.rejectedCount}개),
+                                    {' '}{dryRunResult.elapsedMs}ms ({dryRunResult.msPerRecord.toFixed(2)}ms/레코드)
+                                </div>
+
+                                <h3>필드별 매칭률</h3>
+                                <div className="field-stats">
+                                    {dryRunResult.fieldStats.map((stat) => (
+                                        <div key={stat.name} className="field-stat">
+                                            <span className="field-name">{stat.name}</span>
+                                            <div className="match-bar">
+                                                <div
+                                                    className="match-fill"
+                                                    style={{ width: `${stat.matchRate * 100}%` }}
+                                                />
+                                            </div>
+                                            <span className="match-rate">{(stat.matchRate * 100).toFixed(1)}%</span>
+                                        </div>
+                                    ))}
+                                </div>
+
+                                {dryRunResult.rows.length > 0 && (
+                                    <>
+                                        <h3>파싱된 레코드 (앞 {Math.min(DRY_RUN_PREVIEW_ROWS, dryRunResult.rows.length)}개)</h3>
+                                        <div className="dry-run-table">
+                                            <table>
+                                                <thead>
+                                                    <tr>
+                                                        {Object.keys(dryRunResult.rows[0]).map((name) => (
+                                                            <th key={name}>{name}</th>
+                                                        ))}
+                                                    </tr>
+                                                </thead>
+                                                <tbody>
+                                                    {dryRunResult.rows.slice(0, DRY_RUN_PREVIEW_ROWS).map((row, index) => (
+                                                        <tr key={index}>
+                                                            {Object.keys(dryRunResult.rows[0]).map((name) => (
+                                                                <td key={name}>
+                                                                    {row[name] === null || row[name] === undefined ? '' : String(row[name])}
+                                                                </td>
+                                                            ))}
+                                                        </tr>
+                                                    ))}
+                                                </tbody>
+                                            </table>
+                                        </div>
+                                    </>
+                                )}
+                            </>
+                        )}
+                    </section>
+                )}
             </div>
         </div>
     );
@@ -5,10 +5,26 @@ import './TableDetail.css';
 
 const API_BASE = import.meta.env.VITE_API_URL || 'http://localhost:3001';
 
+interface ColumnProfile {
+    count: number;
+    nullCount: number;
+    nullRate: number;
+    min?: string;
+    max?: string;
+    approxDistinct: number;
+    topK?: Array<{ value: string; count: number }>;
+}
+
 interface TablePreview {
     schema: Array<{ name: string; type: string }>;
     rows: any[];
     rowCount: number;
+    // 적재 시 수집된 컬럼 프로파일 (테이블 속성에서 조회)
+    profile?: {
+        columns: Record<string, ColumnProfile>;
+        snapshotId?: string;
+        complete: boolean;
+    };
 }
 
 export default function TableDetail() {
@@ -85,6 +101,47 @@ export default function TableDetail() {
                         </div>
                     </section>
 
+                    {preview.profile && Object.keys(preview.profile.columns).length > 0 && (
+                        <section className="profile-section">
+                            <div className="section-header">
+                                <h2>컬럼 프로파일</h2>
+                                {!preview.profile.complete && (
+                                    <span className="profile-note">일부 배치만 반영됨</span>
+                                )}
+                            </div>
+                            <div className="data-table-wrapper">
+                                <table className="data-table">
+                                    <thead>
+                                        <tr>
+                                            <th>컬럼</th>
+                                            <th>Null 비율</th>
+                                            <th>고유값 (근사)</th>
+                                            <th>최소</th>
+                                            <th>최대</th>
+                                            <th>상위 값</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        {Object.entries(preview.profile.columns).map(([name, profile]) => (
+                                            <tr key={name}>
+                                                <td>{name}</td>
+                                                <td>{(profile.nullRate * 100).toFixed(1)}% ({profile.nullCount})</td>
+                                                <td>{profile.approxDistinct}</td>
+                                                <td>{profile.min ?? '-'}</td>
+                                                <td>{profile.max ?? '-'}</td>
+                                                <td>
+                                                    {profile.topK
+                                                        ? profile.topK.map(item => `${item.value} (${item.count})`).join(', ')
+                                                        : '-'}
+                                                </td>
+                                            </tr>
+                                        ))}
+                                    </tbody>
+                                </table>
+                            </div>
+                        </section>
+                    )}
+
                     <section className="data-section">
                         <div className="section-header">
                             <h2>데이터</h2>
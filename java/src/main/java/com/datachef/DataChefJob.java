@@ -4,19 +4,39 @@ import com.datachef.config.ConfigParser;
 import com.datachef.config.PipeConfig;
 import com.datachef.readers.DataReader;
 import com.datachef.readers.ReaderFactory;
+import com.datachef.transforms.ColumnProfiler;
+import com.datachef.transforms.Deduplicator;
+import com.datachef.transforms.RecordValidator;
+import com.datachef.utils.JobControl;
+import com.datachef.utils.JobMetrics;
 import com.datachef.utils.Logger;
+import com.datachef.writers.ChunkCheckpoint;
 import com.datachef.writers.IcebergWriter;
+import org.apache.iceberg.spark.Spark3Util;
+import org.apache.iceberg.spark.SparkReadOptions;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Main entry point for Data Chef Spark application
  */
 public class DataChefJob {
+    private static final int EXIT_CANCELLED = 130;
+    private static final int DRY_RUN_DEFAULT_LIMIT = 100;
+    private static final int DRY_RUN_MAX_FILES = 3;
     
     public static void main(String[] args) {
         SparkSession spark = null;
+        JobControl control = null;
         
         try {
             // Check for action parameter (for table queries)
@@ -24,6 +44,9 @@ public class DataChefJob {
             String tableName = null;
             String sqlQuery = null;
             int limit = 10;
+            Integer dryRunLimit = null;
+            int maxFiles = DRY_RUN_MAX_FILES;
+            Map<String, String> readOptions = new HashMap<>();
             
             for (int i = 0; i < args.length; i++) {
                 if ("--action".equals(args[i]) && i + 1 < args.length) {
@@ -34,12 +57,28 @@ public class DataChefJob {
                     sqlQuery = args[i + 1];
                 } else if ("--limit".equals(args[i]) && i + 1 < args.length) {
                     limit = Integer.parseInt(args[i + 1]);
+                    dryRunLimit = limit;
+                } else if ("--files".equals(args[i]) && i + 1 < args.length) {
+                    maxFiles = Integer.parseInt(args[i + 1]);
+                } else if ("--snapshot-id".equals(args[i]) && i + 1 < args.length) {
+                    readOptions.put(SparkReadOptions.SNAPSHOT_ID, args[i + 1]);
+                } else if ("--as-of".equals(args[i]) && i + 1 < args.length) {
+                    readOptions.put(SparkReadOptions.AS_OF_TIMESTAMP, Long.toString(parseTimestampMillis(args[i + 1])));
+                } else if ("--from-snapshot".equals(args[i]) && i + 1 < args.length) {
+                    readOptions.put(SparkReadOptions.START_SNAPSHOT_ID, args[i + 1]);
+                } else if ("--to-snapshot".equals(args[i]) && i + 1 < args.length) {
+                    readOptions.put(SparkReadOptions.END_SNAPSHOT_ID, args[i + 1]);
                 }
             }
             
-            // Handle table query actions
-            if (action != null) {
-                handleQueryAction(action, tableName, sqlQuery, limit, args);
+            if ("dryrun".equals(action)) {
+                runDryRun(args, dryRunLimit != null ? dryRunLimit : DRY_RUN_DEFAULT_LIMIT, maxFiles);
+                return;
+            }
+            
+            // Handle table query actions; "execute" runs the pipe below
+            if (action != null && !"execute".equals(action)) {
+                handleQueryAction(action, tableName, sqlQuery, limit, readOptions, args);
                 return;
             }
             
@@ -60,14 +99,43 @@ public class DataChefJob {
             spark = createSparkSession(config);
             Logger.info("Spark session created successfully");
             
-            // 3. Read data
-            Logger.info("Loading data...");
             String fileType = config.pipe.recordBoundary.type;
             DataReader reader = ReaderFactory.create(fileType);
+            List<org.apache.hadoop.fs.FileStatus> sourceFiles = listSourceFiles(spark,
+                    reader.buildGlobPattern(config.sourcePath, config.pipe.filePattern));
+            long sourceBytes = 0L;
+            for (org.apache.hadoop.fs.FileStatus file : sourceFiles) {
+                sourceBytes += file.getLen();
+            }
+            control = JobControl.start(spark, sourceBytes, sourceFiles.size());
+            
+            if (sourceFiles.isEmpty()) {
+                Logger.warn("No data to process - no source files match the pipe's file pattern");
+                control.stop();
+                spark.stop();
+                System.exit(0);
+            }
+            
+            // Chunked mode commits source files in batches that a re-run can skip
+            if (config.pipe.output.chunkSize != null && config.pipe.output.chunkSize > 0) {
+                runChunked(spark, config, sourceFiles, control);
+                control.stop();
+                JobMetrics.logSummary();
+                Logger.info("Pipe execution completed successfully");
+                System.exit(0);
+            }
+            
+            // 3. Read data
+            Logger.info("Loading data...");
             Dataset<Row> df = reader.read(spark, config.sourcePath, config.pipe);
             
-            if (df.isEmpty()) {
-                Logger.warn("No data to process - DataFrame is empty");
+            // Probing for rows would run the parse, and its reject and cast counters, before
+            // the write; files without records show up as zero added records instead
+            if (df.columns().length == 0) {
+                Logger.warn("No data to process - no fields were read");
+                writeQuarantine(reader, config, config.pipe.output);
+                control.stop();
+                JobMetrics.logSummary();
                 spark.stop();
                 System.exit(0);
             }
@@ -75,9 +143,24 @@ public class DataChefJob {
             Logger.info("Data loaded successfully. Schema:");
             df.printSchema();
             
-            // 4. Write to Iceberg
+            // 4. Deduplicate
+            Deduplicator dedup = new Deduplicator(spark, config.pipe, config.pipe.output);
+            df = dedup.apply(df);
+            
+            // 5. Write to Iceberg, profiling columns in the same pass
+            control.checkCancelled();
             Logger.info("Writing data to Iceberg...");
-            IcebergWriter.write(df, config.pipe.output, config.iceberg);
+            ColumnProfiler profiler = new ColumnProfiler(spark, config.pipe.output);
+            control.beginWrite(dedup.readsTable());
+            IcebergWriter.write(profiler.apply(df), config.pipe.output, config.iceberg);
+            control.endWrite();
+            control.filesCompleted(sourceFiles.size());
+            profiler.commit();
+            dedup.commit(df);
+            control.checkCancelled();
+            writeQuarantine(reader, config, config.pipe.output);
+            control.stop();
+            JobMetrics.logSummary();
             
             Logger.info("Pipe execution completed successfully");
             System.exit(0);
@@ -90,6 +173,15 @@ public class DataChefJob {
             System.exit(1);
             
         } catch (Exception e) {
+            if (control != null && control.isCancelled()) {
+                // Iceberg commits are atomic, so the table is left at its last committed snapshot
+                control.stop();
+                Logger.warn("Pipe execution cancelled");
+                if (spark != null) {
+                    spark.stop();
+                }
+                System.exit(EXIT_CANCELLED);
+            }
             Logger.error("Execution failed", e);
             if (spark != null) {
                 spark.stop();
@@ -99,9 +191,261 @@ public class DataChefJob {
     }
     
     /**
-     * Handle table query actions (list, preview, query)
+     * Ingest the source files in chunks of output.chunkSize files, committing each chunk
+     * as its own Iceberg snapshot and skipping files an earlier run of the same pipe
+     * config already committed
+     */
+    private static void runChunked(SparkSession spark, PipeConfig config,
+                                   List<org.apache.hadoop.fs.FileStatus> sourceFiles, JobControl control)
+            throws Exception {
+        PipeConfig.Pipe pipe = config.pipe;
+        int chunkSize = pipe.output.chunkSize;
+        String fileType = pipe.recordBoundary.type;
+
+        // Overwrite resumes only an interrupted run over the same files; append skips every
+        // file committed before
+        String writeMode = pipe.output.writeMode != null ? pipe.output.writeMode.toLowerCase() : "overwrite";
+        boolean overwrite = "overwrite".equals(writeMode);
+
+        String fullTableName = IcebergWriter.fullTableName(pipe.output);
+        String pipeHash = ChunkCheckpoint.pipeHash(pipe);
+        List<String> sourceKeys = new ArrayList<>();
+        for (org.apache.hadoop.fs.FileStatus file : sourceFiles) {
+            sourceKeys.add(ChunkCheckpoint.fileKey(file));
+        }
+        String runFiles = ChunkCheckpoint.fileSetHash(sourceKeys);
+
+        Set<String> committed;
+        if (overwrite) {
+            committed = ChunkCheckpoint.resumableRun(spark, fullTableName, pipeHash, runFiles);
+            if (committed == null) {
+                Logger.info("No interrupted run over the current files, starting a new run");
+                committed = new HashSet<>();
+            }
+        } else {
+            committed = ChunkCheckpoint.committedFiles(spark, fullTableName, pipeHash);
+        }
+
+        List<org.apache.hadoop.fs.FileStatus> pending = new ArrayList<>();
+        for (int i = 0; i < sourceFiles.size(); i++) {
+            if (!committed.contains(sourceKeys.get(i))) {
+                pending.add(sourceFiles.get(i));
+            }
+        }
+
+        boolean replace = overwrite && pending.size() == sourceFiles.size();
+        boolean replaceQuarantine = replace;
+
+        int chunkCount = (pending.size() + chunkSize - 1) / chunkSize;
+        Logger.info("Chunked ingestion: " + sourceFiles.size() + " files, " + (sourceFiles.size() - pending.size())
+                + " already committed, " + chunkCount + " chunks to process (pipe " + pipeHash + ")");
+        long skippedBytes = 0L;
+        for (org.apache.hadoop.fs.FileStatus file : sourceFiles) {
+            skippedBytes += file.getLen();
+        }
+        for (org.apache.hadoop.fs.FileStatus file : pending) {
+            skippedBytes -= file.getLen();
+        }
+        control.filesSkipped(sourceFiles.size() - pending.size(), skippedBytes);
+
+        String extension = pipe.filePattern.extension;
+        for (int i = 0; i < chunkCount; i++) {
+            control.checkCancelled();
+
+            List<org.apache.hadoop.fs.FileStatus> chunkFiles =
+                    pending.subList(i * chunkSize, Math.min(pending.size(), (i + 1) * chunkSize));
+            Logger.info("Processing chunk " + (i + 1) + "/" + chunkCount + " (" + chunkFiles.size() + " files)");
+
+            List<String> names = new ArrayList<>();
+            List<String> fileKeys = new ArrayList<>();
+            for (org.apache.hadoop.fs.FileStatus file : chunkFiles) {
+                names.add(file.getPath().getName());
+                fileKeys.add(ChunkCheckpoint.fileKey(file));
+            }
+
+            pipe.filePattern = new PipeConfig.FilePattern();
+            pipe.filePattern.extension = extension;
+            pipe.filePattern.names = names;
+
+            DataReader reader = ReaderFactory.create(fileType);
+            Dataset<Row> df = reader.read(spark, config.sourcePath, pipe);
+
+            PipeConfig.Output chunkOutput = new PipeConfig.Output();
+            chunkOutput.tableName = pipe.output.tableName;
+            chunkOutput.catalog = pipe.output.catalog;
+            chunkOutput.namespace = pipe.output.namespace;
+            chunkOutput.quarantineTable = pipe.output.quarantineTable;
+            chunkOutput.profile = pipe.output.profile;
+            chunkOutput.writeMode = replace ? "overwrite" : "append";
+
+            if (df.columns().length == 0) {
+                Logger.warn("Chunk " + (i + 1) + " has no data to process");
+            } else {
+                Deduplicator dedup = new Deduplicator(spark, pipe, chunkOutput);
+                df = dedup.apply(df);
+                ColumnProfiler profiler = new ColumnProfiler(spark, chunkOutput);
+                control.beginWrite(dedup.readsTable());
+                IcebergWriter.write(profiler.apply(df), chunkOutput, config.iceberg,
+                        ChunkCheckpoint.snapshotProperties(pipeHash, fileKeys, replace ? runFiles : null,
+                                i == chunkCount - 1));
+                control.endWrite();
+                profiler.commit();
+                dedup.commit(df);
+                replace = false;
+            }
+            chunkOutput.writeMode = replaceQuarantine ? "overwrite" : "append";
+            writeQuarantine(reader, config, chunkOutput);
+            replaceQuarantine = false;
+
+            // Release the chunk's cached parse before moving on
+            spark.catalog().clearCache();
+            control.filesCompleted(chunkFiles.size());
+            Logger.info("Committed chunk " + (i + 1) + "/" + chunkCount);
+        }
+    }
+
+    /**
+     * List source files matching the glob pattern, sorted by name
+     */
+    private static List<org.apache.hadoop.fs.FileStatus> listSourceFiles(SparkSession spark, String pattern)
+            throws Exception {
+        org.apache.hadoop.fs.Path globPath = new org.apache.hadoop.fs.Path(pattern);
+        org.apache.hadoop.fs.FileStatus[] statuses = globPath
+                .getFileSystem(spark.sparkContext().hadoopConfiguration())
+                .globStatus(globPath);
+
+        List<org.apache.hadoop.fs.FileStatus> files = new ArrayList<>();
+        if (statuses != null) {
+            for (org.apache.hadoop.fs.FileStatus status : statuses) {
+                if (status.isFile()) {
+                    files.add(status);
+                }
+            }
+        }
+        files.sort(Comparator.comparing(status -> status.getPath().getName()));
+        return files;
+    }
+
+    /**
+     * Write records rejected by the reader to the pipe's quarantine table, if configured
      */
-    private static void handleQueryAction(String action, String tableName, String sqlQuery, int limit, String[] args) {
+    private static void writeQuarantine(DataReader reader, PipeConfig config, PipeConfig.Output output)
+            throws Exception {
+        Dataset<Row> rejected = reader.getRejected();
+        if (rejected == null || output.quarantineTable == null || output.quarantineTable.isEmpty()) {
+            return;
+        }
+
+        PipeConfig.Output quarantine = new PipeConfig.Output();
+        quarantine.tableName = output.quarantineTable;
+        quarantine.catalog = output.catalog;
+        quarantine.namespace = output.namespace;
+        quarantine.writeMode = output.writeMode;
+
+        Logger.info("Writing rejected records to quarantine table: " + output.quarantineTable);
+        IcebergWriter.write(rejected, quarantine, config.iceberg);
+    }
+
+    /**
+     * Parse the first records of a few source files with the pipe's reader, extraction
+     * and typing logic, and print the rows, per-field match rates and time per record.
+     * Nothing is written to Iceberg.
+     */
+    private static void runDryRun(String[] args, int maxRecords, int maxFiles) {
+        SparkSession spark = null;
+        
+        try {
+            PipeConfig config = ConfigParser.parse(args);
+            if (config.pipe == null || config.sourcePath == null) {
+                throw new IllegalArgumentException("Missing required configuration: pipe or sourcePath");
+            }
+            
+            spark = createSparkSession(config);
+            
+            DataReader reader = ReaderFactory.create(config.pipe.recordBoundary.type);
+            List<org.apache.hadoop.fs.FileStatus> sourceFiles = listSourceFiles(spark,
+                    reader.buildGlobPattern(config.sourcePath, config.pipe.filePattern));
+            List<String> files = new ArrayList<>();
+            for (org.apache.hadoop.fs.FileStatus file : sourceFiles.subList(0, Math.min(maxFiles, sourceFiles.size()))) {
+                files.add(file.getPath().toString());
+            }
+            
+            Logger.info("Dry run on " + files.size() + " of " + sourceFiles.size()
+                    + " files, up to " + maxRecords + " records");
+            
+            long start = System.nanoTime();
+            Dataset<Row> sample = reader.readSample(spark, files, maxRecords, config.pipe);
+            List<Row> rows = sample.collectAsList();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            
+            // Match rate per field: share of sampled records with a non-empty value
+            org.apache.spark.sql.types.StructField[] fields = sample.schema().fields();
+            int reasonIndex = -1;
+            long[] matched = new long[fields.length];
+            long rejectedCount = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (RecordValidator.REASON_COLUMN.equals(fields[i].name())) {
+                    reasonIndex = i;
+                }
+            }
+            for (Row row : rows) {
+                for (int i = 0; i < fields.length; i++) {
+                    Object value = row.get(i);
+                    if (value != null && !value.toString().isEmpty()) {
+                        matched[i]++;
+                    }
+                }
+                if (reasonIndex >= 0 && !row.getString(reasonIndex).isEmpty()) {
+                    rejectedCount++;
+                }
+            }
+            
+            com.google.gson.JsonArray fieldStats = new com.google.gson.JsonArray();
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].name().startsWith("_")) {
+                    continue;
+                }
+                com.google.gson.JsonObject stat = new com.google.gson.JsonObject();
+                stat.addProperty("name", fields[i].name());
+                stat.addProperty("matched", matched[i]);
+                stat.addProperty("matchRate", rows.isEmpty() ? 0.0 : (double) matched[i] / rows.size());
+                fieldStats.add(stat);
+            }
+            
+            // Output JSON
+            com.google.gson.JsonObject result = new com.google.gson.JsonObject();
+            result.add("schema", schemaToJson(sample.schema()));
+            result.add("rows", rowsToJson(rows, sample.schema()));
+            result.addProperty("rowCount", rows.size());
+            result.addProperty("rejectedCount", rejectedCount);
+            result.add("fieldStats", fieldStats);
+            result.addProperty("filesSampled", files.size());
+            result.addProperty("filesTotal", sourceFiles.size());
+            result.addProperty("elapsedMs", elapsedMs);
+            result.addProperty("msPerRecord", rows.isEmpty() ? 0.0 : (double) elapsedMs / rows.size());
+            
+            System.out.println(new com.google.gson.Gson().toJson(result));
+            spark.stop();
+            System.exit(0);
+            
+        } catch (Exception e) {
+            Logger.error("Dry run failed", e);
+            if (spark != null) {
+                spark.stop();
+            }
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Handle table query actions (list, preview, query, snapshots)
+     *
+     * preview and query read the current table state unless readOptions select a snapshot
+     * (snapshot-id, as-of-timestamp) or an incremental range of appended data
+     * (start-snapshot-id exclusive, end-snapshot-id inclusive)
+     */
+    private static void handleQueryAction(String action, String tableName, String sqlQuery, int limit,
+                                          Map<String, String> readOptions, String[] args) {
         SparkSession spark = null;
         
         try {
@@ -173,39 +517,54 @@ public class DataChefJob {
                 
                 Logger.info("Previewing table: " + fullTableName);
                 
+                com.google.gson.JsonObject result = new com.google.gson.JsonObject();
                 org.apache.spark.sql.Dataset<org.apache.spark.sql.Row> df = 
-                    spark.read().table(fullTableName).limit(limit);
+                    readTable(spark, fullTableName, readOptions, result).limit(limit);
                 
-                // Get schema
-                com.google.gson.JsonArray schemaArray = new com.google.gson.JsonArray();
-                for (org.apache.spark.sql.types.StructField field : df.schema().fields()) {
-                    com.google.gson.JsonObject fieldObj = new com.google.gson.JsonObject();
-                    fieldObj.addProperty("name", field.name());
-                    fieldObj.addProperty("type", field.dataType().simpleString());
-                    schemaArray.add(fieldObj);
-                }
-                
-                // Get rows
-                com.google.gson.JsonArray rowsArray = new com.google.gson.JsonArray();
-                df.collectAsList().forEach(row -> {
-                    com.google.gson.JsonObject rowObj = new com.google.gson.JsonObject();
-                    for (int i = 0; i < row.size(); i++) {
-                        Object value = row.get(i);
-                        String fieldName = df.schema().fields()[i].name();
-                        if (value == null) {
-                            rowObj.add(fieldName, com.google.gson.JsonNull.INSTANCE);
-                        } else {
-                            rowObj.addProperty(fieldName, value.toString());
-                        }
-                    }
-                    rowsArray.add(rowObj);
-                });
+                com.google.gson.JsonArray schemaArray = schemaToJson(df.schema());
+                com.google.gson.JsonArray rowsArray = rowsToJson(df.collectAsList(), df.schema());
                 
                 // Output JSON
-                com.google.gson.JsonObject result = new com.google.gson.JsonObject();
                 result.add("schema", schemaArray);
                 result.add("rows", rowsArray);
                 result.addProperty("rowCount", rowsArray.size());
+                if (readOptions.isEmpty()) {
+                    // Profiles describe the current table state, not the selected snapshot
+                    result.add("profile", ColumnProfiler.read(Spark3Util.loadIcebergTable(spark, fullTableName)));
+                }
+                
+                System.out.println(new com.google.gson.Gson().toJson(result));
+                spark.stop();
+                System.exit(0);
+                
+            } else if ("snapshots".equals(action) && tableName != null) {
+                // List the table's snapshots, newest first, for time travel and incremental reads
+                String catalogName = config.iceberg.catalog != null && !config.iceberg.catalog.isEmpty()
+                        ? config.iceberg.catalog : "iceberg_catalog";
+                String fullTableName = catalogName + ".default." + tableName;
+                
+                org.apache.iceberg.Table table = Spark3Util.loadIcebergTable(spark, fullTableName);
+                List<org.apache.iceberg.Snapshot> snapshots = new ArrayList<>();
+                table.snapshots().forEach(snapshots::add);
+                snapshots.sort(Comparator.comparingLong(org.apache.iceberg.Snapshot::timestampMillis).reversed());
+                
+                com.google.gson.JsonArray snapshotsArray = new com.google.gson.JsonArray();
+                for (org.apache.iceberg.Snapshot snapshot : snapshots) {
+                    com.google.gson.JsonObject snapshotObj = new com.google.gson.JsonObject();
+                    snapshotObj.addProperty("snapshotId", Long.toString(snapshot.snapshotId()));
+                    snapshotObj.addProperty("parentId", snapshot.parentId() != null
+                            ? Long.toString(snapshot.parentId()) : null);
+                    snapshotObj.addProperty("timestamp", java.time.Instant.ofEpochMilli(snapshot.timestampMillis()).toString());
+                    snapshotObj.addProperty("operation", snapshot.operation());
+                    snapshotObj.addProperty("addedRecords", snapshot.summary().get("added-records"));
+                    snapshotsArray.add(snapshotObj);
+                }
+                
+                // Output JSON
+                com.google.gson.JsonObject result = new com.google.gson.JsonObject();
+                result.addProperty("currentSnapshotId", table.currentSnapshot() != null
+                        ? Long.toString(table.currentSnapshot().snapshotId()) : null);
+                result.add("snapshots", snapshotsArray);
                 
                 System.out.println(new com.google.gson.Gson().toJson(result));
                 spark.stop();
@@ -215,36 +574,28 @@ public class DataChefJob {
                 // Execute arbitrary SQL query
                 Logger.info("Executing SQL query: " + sqlQuery);
                 
+                com.google.gson.JsonObject result = new com.google.gson.JsonObject();
+                if (!readOptions.isEmpty()) {
+                    // The selected snapshot or range is exposed to the SQL under the table's own name
+                    if (tableName == null) {
+                        throw new IllegalArgumentException("--table is required with snapshot or incremental options");
+                    }
+                    boolean pinnedOnly = checkPinnedReferences(spark, sqlQuery, tableName);
+                    String catalogName = config.iceberg.catalog != null && !config.iceberg.catalog.isEmpty()
+                            ? config.iceberg.catalog : "iceberg_catalog";
+                    readTable(spark, catalogName + ".default." + tableName, readOptions, result)
+                            .createOrReplaceTempView(tableName);
+                    // Only results read entirely from the selected snapshot can be cached by callers
+                    result.addProperty("pinnedOnly", pinnedOnly);
+                }
+                
                 org.apache.spark.sql.Dataset<org.apache.spark.sql.Row> df = 
                     spark.sql(sqlQuery).limit(limit);
                 
-                // Get schema
-                com.google.gson.JsonArray schemaArray = new com.google.gson.JsonArray();
-                for (org.apache.spark.sql.types.StructField field : df.schema().fields()) {
-                    com.google.gson.JsonObject fieldObj = new com.google.gson.JsonObject();
-                    fieldObj.addProperty("name", field.name());
-                    fieldObj.addProperty("type", field.dataType().simpleString());
-                    schemaArray.add(fieldObj);
-                }
-                
-                // Get rows
-                com.google.gson.JsonArray rowsArray = new com.google.gson.JsonArray();
-                df.collectAsList().forEach(row -> {
-                    com.google.gson.JsonObject rowObj = new com.google.gson.JsonObject();
-                    for (int i = 0; i < row.size(); i++) {
-                        Object value = row.get(i);
-                        String fieldName = df.schema().fields()[i].name();
-                        if (value == null) {
-                            rowObj.add(fieldName, com.google.gson.JsonNull.INSTANCE);
-                        } else {
-                            rowObj.addProperty(fieldName, value.toString());
-                        }
-                    }
-                    rowsArray.add(rowObj);
-                });
+                com.google.gson.JsonArray schemaArray = schemaToJson(df.schema());
+                com.google.gson.JsonArray rowsArray = rowsToJson(df.collectAsList(), df.schema());
                 
                 // Output JSON
-                com.google.gson.JsonObject result = new com.google.gson.JsonObject();
                 result.add("schema", schemaArray);
                 result.add("rows", rowsArray);
                 result.addProperty("rowCount", rowsArray.size());
@@ -263,6 +614,176 @@ public class DataChefJob {
         }
     }
     
+    /**
+     * Read an Iceberg table at the snapshot or incremental range selected by readOptions and
+     * record the snapshot ids actually read in result, so polling consumers can pass the
+     * returned toSnapshotId as the next fromSnapshotId
+     */
+    private static Dataset<Row> readTable(SparkSession spark, String fullTableName, Map<String, String> readOptions,
+                                          com.google.gson.JsonObject result) throws Exception {
+        org.apache.iceberg.Table table = Spark3Util.loadIcebergTable(spark, fullTableName);
+        Map<String, String> options = new HashMap<>(readOptions);
+        
+        if (options.containsKey(SparkReadOptions.START_SNAPSHOT_ID)) {
+            if (options.containsKey(SparkReadOptions.SNAPSHOT_ID) || options.containsKey(SparkReadOptions.AS_OF_TIMESTAMP)) {
+                throw new IllegalArgumentException("Incremental reads cannot be combined with --snapshot-id or --as-of");
+            }
+            // Pin the end of the range so the caller knows where the next poll starts
+            if (!options.containsKey(SparkReadOptions.END_SNAPSHOT_ID) && table.currentSnapshot() != null) {
+                options.put(SparkReadOptions.END_SNAPSHOT_ID, Long.toString(table.currentSnapshot().snapshotId()));
+            }
+            result.addProperty("fromSnapshotId", options.get(SparkReadOptions.START_SNAPSHOT_ID));
+            result.addProperty("toSnapshotId", options.get(SparkReadOptions.END_SNAPSHOT_ID));
+            
+            // Equal ids mean nothing new was committed since the last poll
+            if (options.get(SparkReadOptions.START_SNAPSHOT_ID).equals(options.get(SparkReadOptions.END_SNAPSHOT_ID))) {
+                return spark.read().table(fullTableName).limit(0);
+            }
+            Logger.info("Reading data appended to " + fullTableName + " after snapshot "
+                    + options.get(SparkReadOptions.START_SNAPSHOT_ID) + " up to " + options.get(SparkReadOptions.END_SNAPSHOT_ID));
+            return spark.read().format("iceberg").options(options).load(fullTableName);
+        }
+        
+        if (options.containsKey(SparkReadOptions.END_SNAPSHOT_ID)) {
+            throw new IllegalArgumentException("--to-snapshot requires --from-snapshot");
+        }
+        
+        org.apache.iceberg.Snapshot snapshot;
+        if (options.containsKey(SparkReadOptions.SNAPSHOT_ID)) {
+            snapshot = table.snapshot(Long.parseLong(options.get(SparkReadOptions.SNAPSHOT_ID)));
+            if (snapshot == null) {
+                throw new IllegalArgumentException("Snapshot not found: " + options.get(SparkReadOptions.SNAPSHOT_ID));
+            }
+        } else if (options.containsKey(SparkReadOptions.AS_OF_TIMESTAMP)) {
+            long snapshotId = org.apache.iceberg.util.SnapshotUtil.snapshotIdAsOfTime(
+                    table, Long.parseLong(options.get(SparkReadOptions.AS_OF_TIMESTAMP)));
+            snapshot = table.snapshot(snapshotId);
+        } else {
+            snapshot = table.currentSnapshot();
+        }
+        
+        if (snapshot != null) {
+            Logger.info("Reading " + fullTableName + " at snapshot " + snapshot.snapshotId());
+            result.addProperty("snapshotId", Long.toString(snapshot.snapshotId()));
+            result.addProperty("snapshotTimestamp", java.time.Instant.ofEpochMilli(snapshot.timestampMillis()).toString());
+            // As-of timestamps are resolved to the snapshot id above, so the reported id is the one read
+            return spark.sql("SELECT * FROM " + fullTableName + " VERSION AS OF " + snapshot.snapshotId());
+        }
+        return spark.read().table(fullTableName);
+    }
+
+    /**
+     * Check the relations of a query that reads the table at a selected snapshot
+     *
+     * The snapshot is exposed as a temporary view under the bare table name, which
+     * qualified names (catalog.default.table) bypass, so those are rejected instead of
+     * silently reading the current state.
+     *
+     * @return true if the pinned table is the query's only source
+     */
+    private static boolean checkPinnedReferences(SparkSession spark, String sqlQuery, String tableName)
+            throws Exception {
+        List<List<String>> relations = new ArrayList<>();
+        Set<String> cteNames = new HashSet<>();
+        collectRelations(spark.sessionState().sqlParser().parsePlan(sqlQuery), relations, cteNames);
+        
+        boolean pinned = false;
+        boolean pinnedOnly = true;
+        for (List<String> relation : relations) {
+            String name = relation.get(relation.size() - 1);
+            if (relation.size() == 1 && cteNames.contains(name.toLowerCase())) {
+                continue;
+            }
+            if (!name.equalsIgnoreCase(tableName)) {
+                pinnedOnly = false;
+            } else if (relation.size() > 1) {
+                throw new IllegalArgumentException("Refer to the table as " + tableName + " instead of "
+                        + String.join(".", relation) + " to read the selected snapshot");
+            } else {
+                pinned = true;
+            }
+        }
+        if (!pinned) {
+            throw new IllegalArgumentException("The query must read from " + tableName
+                    + " to use snapshot or incremental options");
+        }
+        return pinnedOnly;
+    }
+
+    /**
+     * Collect the table names a parsed plan reads, including subqueries and CTE bodies
+     */
+    private static void collectRelations(org.apache.spark.sql.catalyst.plans.QueryPlan<?> plan,
+                                         List<List<String>> relations, Set<String> cteNames) {
+        if (plan instanceof org.apache.spark.sql.catalyst.analysis.UnresolvedRelation) {
+            relations.add(scala.collection.JavaConverters.seqAsJavaList(
+                    ((org.apache.spark.sql.catalyst.analysis.UnresolvedRelation) plan).multipartIdentifier()));
+        }
+        if (plan instanceof org.apache.spark.sql.catalyst.plans.logical.UnresolvedWith) {
+            for (scala.Tuple2<String, ?> cte : scala.collection.JavaConverters.seqAsJavaList(
+                    ((org.apache.spark.sql.catalyst.plans.logical.UnresolvedWith) plan).cteRelations())) {
+                cteNames.add(cte._1().toLowerCase());
+            }
+        }
+        for (Object child : scala.collection.JavaConverters.seqAsJavaList(plan.children())) {
+            collectRelations((org.apache.spark.sql.catalyst.plans.QueryPlan<?>) child, relations, cteNames);
+        }
+        // Subquery expressions and CTE bodies are inner children
+        for (Object child : scala.collection.JavaConverters.seqAsJavaList(plan.innerChildren())) {
+            collectRelations((org.apache.spark.sql.catalyst.plans.QueryPlan<?>) child, relations, cteNames);
+        }
+    }
+
+    /**
+     * Parse a timestamp given as epoch milliseconds or ISO-8601 (e.g. 2024-01-31T12:00:00Z)
+     */
+    private static long parseTimestampMillis(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            try {
+                return java.time.OffsetDateTime.parse(value).toInstant().toEpochMilli();
+            } catch (java.time.format.DateTimeParseException ignored) {
+                throw new IllegalArgumentException("Invalid timestamp: " + value);
+            }
+        }
+    }
+
+    /**
+     * Convert a Spark schema to a JSON array of {name, type}
+     */
+    private static com.google.gson.JsonArray schemaToJson(org.apache.spark.sql.types.StructType schema) {
+        com.google.gson.JsonArray schemaArray = new com.google.gson.JsonArray();
+        for (org.apache.spark.sql.types.StructField field : schema.fields()) {
+            com.google.gson.JsonObject fieldObj = new com.google.gson.JsonObject();
+            fieldObj.addProperty("name", field.name());
+            fieldObj.addProperty("type", field.dataType().simpleString());
+            schemaArray.add(fieldObj);
+        }
+        return schemaArray;
+    }
+
+    /**
+     * Convert collected rows to a JSON array of objects with string values
+     */
+    private static com.google.gson.JsonArray rowsToJson(List<Row> rows, org.apache.spark.sql.types.StructType schema) {
+        com.google.gson.JsonArray rowsArray = new com.google.gson.JsonArray();
+        for (Row row : rows) {
+            com.google.gson.JsonObject rowObj = new com.google.gson.JsonObject();
+            for (int i = 0; i < row.size(); i++) {
+                Object value = row.get(i);
+                String fieldName = schema.fields()[i].name();
+                if (value == null) {
+                    rowObj.add(fieldName, com.google.gson.JsonNull.INSTANCE);
+                } else {
+                    rowObj.addProperty(fieldName, value.toString());
+                }
+            }
+            rowsArray.add(rowObj);
+        }
+        return rowsArray;
+    }
+    
     /**
      * Create SparkSession with S3A and Iceberg configurations
      */
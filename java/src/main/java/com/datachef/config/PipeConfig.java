@@ -18,6 +18,7 @@ public class PipeConfig {
         public RecordBoundary recordBoundary;
         public Schema schema;
         public Partitioning partitioning;
+        public Dedup dedup;
         public Output output;
         public String createdAt;
         public String updatedAt;
@@ -25,6 +26,7 @@ public class PipeConfig {
 
     public static class FilePattern {
         public String extension;
+        public List<String> names;     // explicit file names within sourcePath, overrides extension
     }
 
     public static class RecordBoundary {
@@ -32,6 +34,8 @@ public class PipeConfig {
         public String encoding;
         public String delimiter;
         public Boolean hasHeader;
+        public Boolean multiLine;       // json only: pretty-printed or top-level array files, streamed
+        public Integer splitSizeMb;     // json multiLine only: split size for large files (default 128)
         public FieldExtraction fieldExtraction;
     }
 
@@ -39,6 +43,7 @@ public class PipeConfig {
         public String method;      // "regex", "delimiter", "fixed"
         public List<RegexField> fields;
         public String onError;     // "skip", "null", "fail"
+        public Long maxRejects;    // "fail" only: rejected records tolerated before aborting (default 0)
     }
 
     public static class RegexField {
@@ -54,8 +59,11 @@ public class PipeConfig {
 
     public static class Column {
         public String name;
-        public String type;
+        public String type;        // "string", "int", "long", "double", "boolean", "decimal", "date", "timestamp", ...
         public Boolean nullable;
+        public String format;      // date/timestamp pattern, e.g. "yyyy-MM-dd HH:mm:ss"
+        public Integer precision;  // decimal only
+        public Integer scale;      // decimal only
     }
 
     public static class Partitioning {
@@ -63,11 +71,22 @@ public class PipeConfig {
         public List<String> keys;
     }
 
+    public static class Dedup {
+        public Boolean enabled;
+        public String mode;             // "exact", "bloom"
+        public List<String> keys;       // key columns; whole record when empty
+        public Long expectedItems;      // bloom only: expected distinct keys (default 10M)
+        public Double fpp;              // bloom only: false positive probability (default 0.01)
+    }
+
     public static class Output {
         public String tableName;
         public String catalog;
         public String namespace;
         public String writeMode;   // "overwrite", "append"
+        public String quarantineTable;  // optional table for rejected records
+        public Integer chunkSize;       // files per committed chunk; enables resumable chunked ingestion
+        public Boolean profile;         // compute column profiles during the write (default true)
     }
 
     public static class MinioConfig {
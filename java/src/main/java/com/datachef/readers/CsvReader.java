@@ -1,18 +1,22 @@
 package com.datachef.readers;
 
 import com.datachef.config.PipeConfig;
+import com.datachef.transforms.RecordValidator;
 import com.datachef.utils.Logger;
 import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 
+import java.util.List;
+
 /**
  * Reader for CSV/delimited files
  */
 public class CsvReader implements DataReader {
     @Override
     public Dataset<Row> read(SparkSession spark, String sourcePath, PipeConfig.Pipe pipe) throws Exception {
-        String pattern = buildGlobPattern(sourcePath, pipe.filePattern.extension);
+        String pattern = buildGlobPattern(sourcePath, pipe.filePattern);
         Logger.info("Reading CSV files from pattern: " + pattern);
 
         PipeConfig.RecordBoundary boundary = pipe.recordBoundary;
@@ -28,8 +32,29 @@ public class CsvReader implements DataReader {
                 .option("inferSchema", "true")
                 .csv(pattern);
 
-        Logger.info("Loaded " + df.count() + " records from CSV files");
-        return df;
+        return RecordValidator.validate(spark, df, pipe);
+    }
+
+    @Override
+    public Dataset<Row> readSample(SparkSession spark, List<String> files, int maxRecords, PipeConfig.Pipe pipe)
+            throws Exception {
+        PipeConfig.RecordBoundary boundary = pipe.recordBoundary;
+
+        String delimiter = boundary.delimiter != null ? boundary.delimiter : ",";
+        Boolean hasHeader = boundary.hasHeader != null ? boundary.hasHeader : true;
+        String encoding = boundary.encoding != null ? boundary.encoding : "UTF-8";
+
+        // Repeated header lines from later files are dropped by the CSV parser
+        int maxLines = maxRecords + (hasHeader ? files.size() : 0);
+        List<String> lines = SourceSampler.headLines(spark, files, maxLines, encoding);
+
+        Dataset<Row> df = spark.read()
+                .option("header", hasHeader.toString())
+                .option("sep", delimiter)
+                .option("inferSchema", "true")
+                .csv(spark.createDataset(lines, Encoders.STRING()));
+
+        return RecordValidator.tagSample(spark, df, pipe);
     }
 }
 
@@ -5,6 +5,8 @@ import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 
+import java.util.List;
+
 /**
  * Interface for reading data from various sources
  */
@@ -19,6 +21,50 @@ public interface DataReader {
      */
     Dataset<Row> read(SparkSession spark, String sourcePath, PipeConfig.Pipe pipe) throws Exception;
 
+    /**
+     * Parse only the first records of the given files for a dry run
+     * Validating readers keep rejected records and return them with a reject reason column
+     *
+     * @param spark      SparkSession
+     * @param files      Full paths of the files to sample
+     * @param maxRecords Maximum number of records to parse across all files
+     * @param pipe       Pipe configuration
+     * @return Small Dataset of parsed records
+     */
+    Dataset<Row> readSample(SparkSession spark, List<String> files, int maxRecords, PipeConfig.Pipe pipe)
+            throws Exception;
+
+    /**
+     * Records rejected by the last read, in quarantine table layout
+     *
+     * @return Dataset of rejected records, or null if this reader does not validate records
+     */
+    default Dataset<Row> getRejected() {
+        return null;
+    }
+
+    /**
+     * Build glob pattern for the pipe's file pattern; explicit file names take precedence over the extension
+     */
+    default String buildGlobPattern(String basePath, PipeConfig.FilePattern filePattern) {
+        if (filePattern == null) {
+            return buildGlobPattern(basePath, (String) null);
+        }
+        if (filePattern.names == null || filePattern.names.isEmpty()) {
+            return buildGlobPattern(basePath, filePattern.extension);
+        }
+
+        StringBuilder pattern = new StringBuilder(basePath).append("/{");
+        for (int i = 0; i < filePattern.names.size(); i++) {
+            if (i > 0) {
+                pattern.append(',');
+            }
+            // Escape glob metacharacters so names are matched literally
+            pattern.append(filePattern.names.get(i).replaceAll("([\\\\{}\\[\\]*?,])", "\\\\$1"));
+        }
+        return pattern.append('}').toString();
+    }
+
     /**
      * Build glob pattern for file filtering
      */
@@ -1,18 +1,26 @@
 package com.datachef.readers;
 
 import com.datachef.config.PipeConfig;
+import com.datachef.transforms.RecordValidator;
 import com.datachef.utils.Logger;
 import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 
+import java.util.List;
+
 /**
  * Reader for JSON files
  */
 public class JsonReader implements DataReader {
     @Override
     public Dataset<Row> read(SparkSession spark, String sourcePath, PipeConfig.Pipe pipe) throws Exception {
-        String pattern = buildGlobPattern(sourcePath, pipe.filePattern.extension);
+        if (Boolean.TRUE.equals(pipe.recordBoundary.multiLine)) {
+            return new StreamingJsonReader().read(spark, sourcePath, pipe);
+        }
+
+        String pattern = buildGlobPattern(sourcePath, pipe.filePattern);
         Logger.info("Reading JSON files from pattern: " + pattern);
 
         String encoding = pipe.recordBoundary.encoding != null ? 
@@ -23,8 +31,30 @@ public class JsonReader implements DataReader {
                 .option("multiLine", "false")  // Assume each line is a JSON object
                 .json(pattern);
 
-        Logger.info("Loaded " + df.count() + " records from JSON files");
-        return df;
+        return RecordValidator.validate(spark, df, pipe);
+    }
+
+    @Override
+    public Dataset<Row> readSample(SparkSession spark, List<String> files, int maxRecords, PipeConfig.Pipe pipe)
+            throws Exception {
+        if (Boolean.TRUE.equals(pipe.recordBoundary.multiLine)) {
+            return new StreamingJsonReader().readSample(spark, files, maxRecords, pipe);
+        }
+
+        String encoding = pipe.recordBoundary.encoding != null ? 
+                pipe.recordBoundary.encoding : "UTF-8";
+
+        List<String> records = SourceSampler.headLines(spark, files, maxRecords, encoding);
+        return parseSample(spark, records, pipe);
+    }
+
+    /**
+     * Parse sampled JSON records the way read() would: the schema is inferred from the
+     * sample and declared columns are cast, with cast failures tagged as rejects
+     */
+    static Dataset<Row> parseSample(SparkSession spark, List<String> records, PipeConfig.Pipe pipe) {
+        Dataset<Row> df = spark.read().json(spark.createDataset(records, Encoders.STRING()));
+        return RecordValidator.tagSample(spark, df, pipe);
     }
 }
 
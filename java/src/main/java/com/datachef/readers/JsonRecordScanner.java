@@ -0,0 +1,271 @@
+package com.datachef.readers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Incremental byte-level tokenizer for multi-line JSON files
+ *
+ * Emits the top-level values of a file one at a time: the elements of top-level
+ * arrays and any concatenated/pretty-printed values between them. Only
+ * structural bytes are tracked (depth, strings, escapes), so memory is bounded
+ * by the largest single record, not by the file size. The charset must be ASCII
+ * compatible (UTF-8, ISO-8859-x, ...).
+ */
+public class JsonRecordScanner implements Iterator<String>, Closeable {
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final Charset charset;
+    private final long end;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+    private int limit;
+    private long offset;
+    private boolean inArray;
+    private boolean finished;
+    private String next;
+
+    /**
+     * @param in      Stream positioned at start
+     * @param start   Byte offset of the stream position; 0 means start of file,
+     *                anything else must be a top-level value start from splitPoints
+     * @param end     Values starting at or after this offset belong to the next range
+     * @param inArray Whether start lies inside a top-level array
+     * @param charset Charset used to decode records
+     */
+    public JsonRecordScanner(InputStream in, long start, long end, boolean inArray, Charset charset) {
+        this.in = in;
+        this.offset = start;
+        this.end = end;
+        this.inArray = inArray;
+        this.charset = charset;
+    }
+
+    /**
+     * Scanner over a whole file
+     */
+    public JsonRecordScanner(InputStream in, Charset charset) {
+        this(in, 0L, Long.MAX_VALUE, false, charset);
+    }
+
+    /**
+     * Scan a whole file and return the top-level value starts roughly every splitSize
+     * bytes. The first split point is always the start of the file.
+     */
+    public static List<SplitPoint> splitPoints(InputStream in, long splitSize) throws IOException {
+        List<SplitPoint> points = new ArrayList<>();
+        points.add(new SplitPoint(0L, false));
+        try (JsonRecordScanner scanner = new JsonRecordScanner(in, null)) {
+            long lastSplit = 0L;
+            long start;
+            while ((start = scanner.skipToValue()) >= 0) {
+                if (start - lastSplit >= splitSize) {
+                    points.add(new SplitPoint(start, scanner.inArray));
+                    lastSplit = start;
+                }
+                scanner.readValue(false);
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read JSON record at offset " + offset, e);
+            }
+            if (next == null) {
+                finished = true;
+                closeQuietly();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String value = next;
+        next = null;
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String advance() throws IOException {
+        long start = skipToValue();
+        if (start < 0 || start >= end) {
+            return null;
+        }
+        readValue(true);
+        return record.toString(charset);
+    }
+
+    /**
+     * Skip whitespace, separators and the brackets of top-level arrays
+     *
+     * @return Offset of the next top-level value, or -1 at the end of input
+     */
+    private long skipToValue() throws IOException {
+        while (true) {
+            int b = peek();
+            if (b == EOF) {
+                return -1;
+            }
+            if (isWhitespace(b) || b == ',') {
+                read();
+                continue;
+            }
+            if (offset == 0 && b == 0xEF) {
+                skipByteOrderMark();
+                continue;
+            }
+            // Top-level arrays are unwrapped into their elements; another array or value may follow
+            if (b == '[' && !inArray) {
+                inArray = true;
+                read();
+                continue;
+            }
+            if (b == ']' && inArray) {
+                inArray = false;
+                read();
+                continue;
+            }
+            if (b == ']' || b == '}') {
+                throw new IOException("Unexpected '" + (char) b + "' at offset " + offset);
+            }
+            return offset;
+        }
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        read();
+        if (read() != 0xBB || read() != 0xBF) {
+            throw new IOException("Invalid byte order mark at offset 0");
+        }
+    }
+
+    /**
+     * Consume one complete value, optionally copying its bytes into the record buffer
+     */
+    private void readValue(boolean keep) throws IOException {
+        record.reset();
+
+        int first = peek();
+        if (first != '{' && first != '[' && first != '"') {
+            // Scalar (number, true, false, null) runs until the next delimiter
+            while (peek() != EOF && !isDelimiter(peek())) {
+                int b = read();
+                if (keep) {
+                    record.write(b);
+                }
+            }
+            return;
+        }
+
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+
+        while (true) {
+            int b = read();
+            if (b == EOF) {
+                throw new IOException("Unexpected end of JSON input at offset " + offset);
+            }
+            if (keep) {
+                record.write(b);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        return;
+                    }
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+                if (depth == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        int b = peek();
+        if (b != EOF) {
+            position++;
+            offset++;
+        }
+        return b;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean isDelimiter(int b) {
+        return isWhitespace(b) || b == ',' || b == ']';
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Top-level value start at which a file can be split
+     */
+    public static class SplitPoint implements Serializable {
+        public final long offset;
+        public final boolean inArray;
+
+        SplitPoint(long offset, boolean inArray) {
+            this.offset = offset;
+            this.inArray = inArray;
+        }
+    }
+}
@@ -6,19 +6,25 @@ import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 
+import java.util.List;
+
 /**
  * Reader for Parquet files
  */
 public class ParquetReader implements DataReader {
     @Override
     public Dataset<Row> read(SparkSession spark, String sourcePath, PipeConfig.Pipe pipe) throws Exception {
-        String pattern = buildGlobPattern(sourcePath, pipe.filePattern.extension);
+        String pattern = buildGlobPattern(sourcePath, pipe.filePattern);
         Logger.info("Reading Parquet files from pattern: " + pattern);
 
-        Dataset<Row> df = spark.read().parquet(pattern);
+        return spark.read().parquet(pattern);
+    }
 
-        Logger.info("Loaded " + df.count() + " records from Parquet files");
-        return df;
+    @Override
+    public Dataset<Row> readSample(SparkSession spark, List<String> files, int maxRecords, PipeConfig.Pipe pipe)
+            throws Exception {
+        // The limit stops the scan after the first row groups
+        return spark.read().parquet(files.toArray(new String[0])).limit(maxRecords);
     }
 }
 
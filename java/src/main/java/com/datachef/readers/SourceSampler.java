@@ -0,0 +1,74 @@
+package com.datachef.readers;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.spark.sql.SparkSession;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the head of source files on the driver for dry runs
+ * Only the bytes needed for the requested records are read, whatever the file size
+ */
+public class SourceSampler {
+
+    /**
+     * First lines of the given files, up to maxLines in total
+     */
+    public static List<String> headLines(SparkSession spark, List<String> files, int maxLines, String encoding)
+            throws IOException {
+        List<String> lines = new ArrayList<>();
+        Charset charset = Charset.forName(encoding);
+
+        for (String file : files) {
+            if (lines.size() >= maxLines) {
+                break;
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(spark, file), charset))) {
+                String line;
+                while (lines.size() < maxLines && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * First top-level JSON values of the given multi-line JSON files, up to maxRecords in total
+     */
+    public static List<String> headJsonRecords(SparkSession spark, List<String> files, int maxRecords,
+                                               String encoding) throws IOException {
+        List<String> records = new ArrayList<>();
+        Charset charset = Charset.forName(encoding);
+
+        for (String file : files) {
+            if (records.size() >= maxRecords) {
+                break;
+            }
+            try (JsonRecordScanner scanner = new JsonRecordScanner(open(spark, file), charset)) {
+                while (records.size() < maxRecords && scanner.hasNext()) {
+                    records.add(scanner.next());
+                }
+            }
+        }
+        return records;
+    }
+
+    private static InputStream open(SparkSession spark, String file) throws IOException {
+        Configuration hadoopConf = spark.sparkContext().hadoopConfiguration();
+        Path path = new Path(file);
+        InputStream in = path.getFileSystem(hadoopConf).open(path);
+
+        CompressionCodec codec = new CompressionCodecFactory(hadoopConf).getCodec(path);
+        return codec != null ? codec.createInputStream(in) : in;
+    }
+}
@@ -0,0 +1,204 @@
+package com.datachef.readers;
+
+import com.datachef.config.PipeConfig;
+import com.datachef.transforms.RecordValidator;
+import com.datachef.utils.JobControl;
+import com.datachef.utils.JobMetrics;
+import com.datachef.utils.Logger;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.util.LongAccumulator;
+import org.apache.spark.util.TaskCompletionListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader for pretty-printed JSON and large top-level JSON arrays
+ *
+ * Records are streamed one at a time by JsonRecordScanner, so task memory stays flat
+ * as files grow. Uncompressed files larger than the split size are indexed at
+ * top-level element boundaries and read as parallel ranges; indexing reads each
+ * large file once, sequentially, in a task of its own before the parallel pass.
+ * Ranges are opened directly rather than through a Hadoop input format, so they report
+ * no input metrics; each range adds its size to JobControl.STREAMED_BYTES instead.
+ *
+ * The schema is inferred from every record, which streams the input once more before
+ * the write: reading costs about twice the input size. Declared column types are then
+ * applied like in the other readers.
+ */
+public class StreamingJsonReader implements DataReader {
+    private static final long DEFAULT_SPLIT_SIZE_MB = 128L;
+
+    @Override
+    public Dataset<Row> read(SparkSession spark, String sourcePath, PipeConfig.Pipe pipe) throws Exception {
+        String pattern = buildGlobPattern(sourcePath, pipe.filePattern);
+        Logger.info("Streaming multi-line JSON files from pattern: " + pattern);
+
+        PipeConfig.RecordBoundary boundary = pipe.recordBoundary;
+        String encoding = boundary.encoding != null ? boundary.encoding : "UTF-8";
+        long splitSize = (boundary.splitSizeMb != null ? boundary.splitSizeMb : DEFAULT_SPLIT_SIZE_MB)
+                * 1024L * 1024L;
+
+        Configuration hadoopConf = spark.sparkContext().hadoopConfiguration();
+        HashMap<String, String> conf = new HashMap<>();
+        for (Map.Entry<String, String> entry : hadoopConf) {
+            conf.put(entry.getKey(), entry.getValue());
+        }
+
+        Path globPath = new Path(pattern);
+        FileStatus[] statuses = globPath.getFileSystem(hadoopConf).globStatus(globPath);
+        CompressionCodecFactory codecs = new CompressionCodecFactory(hadoopConf);
+
+        List<FileRange> ranges = new ArrayList<>();
+        List<String> largeFiles = new ArrayList<>();
+        int fileCount = 0;
+        if (statuses != null) {
+            for (FileStatus status : statuses) {
+                if (!status.isFile()) {
+                    continue;
+                }
+                fileCount++;
+                String path = status.getPath().toString();
+                if (status.getLen() > splitSize && codecs.getCodec(status.getPath()) == null) {
+                    largeFiles.add(path);
+                } else {
+                    ranges.add(new FileRange(path, 0L, Long.MAX_VALUE, false, status.getLen()));
+                }
+            }
+        }
+
+        if (fileCount == 0) {
+            Logger.warn("No JSON files match pattern: " + pattern);
+            return spark.emptyDataFrame();
+        }
+
+        JavaSparkContext jsc = JavaSparkContext.fromSparkContext(spark.sparkContext());
+
+        if (!largeFiles.isEmpty()) {
+            Logger.info("Indexing " + largeFiles.size() + " large file(s) for parallel splits");
+            ranges.addAll(jsc.parallelize(largeFiles, largeFiles.size())
+                    .flatMap(path -> splitFile(path, conf, splitSize).iterator())
+                    .collect());
+        }
+
+        Logger.info("Reading " + ranges.size() + " range(s) from " + fileCount + " JSON file(s)");
+
+        LongAccumulator streamedBytes = JobMetrics.counter(spark, JobControl.STREAMED_BYTES);
+        JavaRDD<String> records = jsc.parallelize(ranges, ranges.size())
+                .flatMap(range -> openRange(range, conf, encoding, streamedBytes));
+
+        Dataset<String> json = spark.createDataset(records.rdd(), Encoders.STRING());
+
+        // Infer over every record so fields that first appear late in a file are kept
+        Dataset<Row> df = spark.read().json(json);
+        return RecordValidator.validate(spark, df, pipe);
+    }
+
+    @Override
+    public Dataset<Row> readSample(SparkSession spark, List<String> files, int maxRecords, PipeConfig.Pipe pipe)
+            throws Exception {
+        String encoding = pipe.recordBoundary.encoding != null ? pipe.recordBoundary.encoding : "UTF-8";
+        return JsonReader.parseSample(spark, SourceSampler.headJsonRecords(spark, files, maxRecords, encoding), pipe);
+    }
+
+    /**
+     * Split a file into ranges starting at top-level element boundaries
+     */
+    private static List<FileRange> splitFile(String path, Map<String, String> conf, long splitSize)
+            throws IOException {
+        Path filePath = new Path(path);
+        FileSystem fs = filePath.getFileSystem(toConfiguration(conf));
+        long fileLength = fs.getFileStatus(filePath).getLen();
+
+        List<JsonRecordScanner.SplitPoint> points = JsonRecordScanner.splitPoints(fs.open(filePath), splitSize);
+        List<FileRange> ranges = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            long end = i + 1 < points.size() ? points.get(i + 1).offset : Long.MAX_VALUE;
+            long length = Math.min(end, fileLength) - points.get(i).offset;
+            ranges.add(new FileRange(path, points.get(i).offset, end, points.get(i).inArray, length));
+        }
+        return ranges;
+    }
+
+    /**
+     * Open a range and stream its records
+     *
+     * @param streamedBytes Counter the range's size is added to once the task completes
+     */
+    private static Iterator<String> openRange(FileRange range, Map<String, String> conf, String encoding,
+                                              LongAccumulator streamedBytes) throws IOException {
+        Configuration hadoopConf = toConfiguration(conf);
+        Path filePath = new Path(range.path);
+        FSDataInputStream raw = filePath.getFileSystem(hadoopConf).open(filePath);
+
+        InputStream in = raw;
+        CompressionCodec codec = new CompressionCodecFactory(hadoopConf).getCodec(filePath);
+        if (codec != null) {
+            in = codec.createInputStream(raw);
+        } else if (range.start > 0) {
+            raw.seek(range.start);
+        }
+
+        JsonRecordScanner scanner = new JsonRecordScanner(in, range.start, range.end, range.inArray,
+                Charset.forName(encoding));
+
+        // Close the stream when a task stops early, e.g. when a limit reads only the head of a range
+        TaskContext context = TaskContext.get();
+        if (context != null) {
+            context.addTaskCompletionListener((TaskCompletionListener) ctx -> {
+                try {
+                    scanner.close();
+                } catch (IOException ignored) {
+                }
+                streamedBytes.add(range.length);
+            });
+        }
+        return scanner;
+    }
+
+    private static Configuration toConfiguration(Map<String, String> conf) {
+        Configuration hadoopConf = new Configuration(false);
+        conf.forEach(hadoopConf::set);
+        return hadoopConf;
+    }
+
+    /**
+     * Byte range of a file; records starting at or after end belong to the next range
+     */
+    private static class FileRange implements Serializable {
+        final String path;
+        final long start;
+        final long end;
+        final boolean inArray;
+        // Source bytes the range covers, compressed size for compressed files
+        final long length;
+
+        FileRange(String path, long start, long end, boolean inArray, long length) {
+            this.path = path;
+            this.start = start;
+            this.end = end;
+            this.inArray = inArray;
+            this.length = length;
+        }
+    }
+}
@@ -1,22 +1,27 @@
 package com.datachef.readers;
 
 import com.datachef.config.PipeConfig;
+import com.datachef.transforms.RecordValidator;
 import com.datachef.utils.Logger;
 import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
+import org.apache.spark.storage.StorageLevel;
 import static org.apache.spark.sql.functions.*;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class TextReader implements DataReader {
+    private Dataset<Row> rejected;
+
     @Override
     public Dataset<Row> read(SparkSession spark, String sourcePath, PipeConfig.Pipe pipe) throws Exception {
-        String pattern = buildGlobPattern(sourcePath, pipe.filePattern.extension);
+        String pattern = buildGlobPattern(sourcePath, pipe.filePattern);
         Logger.info("Reading text files from pattern: " + pattern);
 
         String encoding = pipe.recordBoundary.encoding != null ? 
@@ -27,9 +32,52 @@ public class TextReader implements DataReader {
                 .textFile(pattern)
                 .toDF("value");
 
-        Logger.info("Loaded " + rawText.count() + " lines from text files");
-
         PipeConfig.FieldExtraction extraction = pipe.recordBoundary.fieldExtraction;
+        boolean quarantine = pipe.output != null && pipe.output.quarantineTable != null
+                && !pipe.output.quarantineTable.isEmpty();
+        Dataset<Row> result = extractFields(rawText, extraction, quarantine);
+        Dataset<Row> tagged = RecordValidator.tag(spark, result, extraction, pipe.schema);
+
+        if (quarantine) {
+            // Parse once and split the cached result into accepted and rejected records,
+            // so writing the quarantine table does not scan the source again
+            tagged = tagged.persist(StorageLevel.MEMORY_AND_DISK());
+            rejected = RecordValidator.rejected(tagged);
+        }
+        result = RecordValidator.accepted(tagged);
+
+        Logger.info("Successfully extracted " + extraction.fields.size() + " fields from text data");
+        result.printSchema();
+        
+        return result;
+    }
+
+    @Override
+    public Dataset<Row> readSample(SparkSession spark, List<String> files, int maxRecords, PipeConfig.Pipe pipe)
+            throws Exception {
+        String encoding = pipe.recordBoundary.encoding != null ?
+                pipe.recordBoundary.encoding : "UTF-8";
+
+        Dataset<Row> rawText = spark.createDataset(
+                SourceSampler.headLines(spark, files, maxRecords, encoding), Encoders.STRING())
+                .toDF("value");
+
+        PipeConfig.FieldExtraction preview = RecordValidator.preview(pipe.recordBoundary.fieldExtraction);
+        return RecordValidator.tag(spark, extractFields(rawText, preview, true), preview, pipe.schema)
+                .drop(RecordValidator.SOURCE_FILE_COLUMN);
+    }
+
+    @Override
+    public Dataset<Row> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Validate the extraction config and extract regex fields from the "value" column,
+     * optionally keeping the raw line and source file for quarantine
+     */
+    private Dataset<Row> extractFields(Dataset<Row> rawText, PipeConfig.FieldExtraction extraction,
+                                       boolean keepRaw) {
         if (extraction == null || extraction.fields == null || extraction.fields.isEmpty()) {
             Logger.error("Text file requires fieldExtraction with regex fields");
             throw new IllegalArgumentException("fieldExtraction.fields is required for text type");
@@ -40,7 +88,6 @@ public class TextReader implements DataReader {
             throw new IllegalArgumentException("Only 'regex' method is supported for text type");
         }
 
-        Dataset<Row> result = rawText;
         List<org.apache.spark.sql.Column> selectColumns = new ArrayList<>();
 
         for (PipeConfig.RegexField field : extraction.fields) {
@@ -55,22 +102,13 @@ public class TextReader implements DataReader {
             selectColumns.add(extractedCol);
         }
 
-        result = result.select(
-            selectColumns.toArray(new org.apache.spark.sql.Column[0])
-        );
-
-        String onError = extraction.onError != null ? extraction.onError : "null";
-        if ("skip".equals(onError)) {
-            for (PipeConfig.RegexField field : extraction.fields) {
-                result = result.filter(col(field.name).notEqual(""));
-            }
-            Logger.info("Filtered out rows with empty extracted fields");
+        if (keepRaw) {
+            selectColumns.add(col("value").alias(RecordValidator.RAW_COLUMN));
+            selectColumns.add(input_file_name().alias(RecordValidator.SOURCE_FILE_COLUMN));
         }
 
-        Logger.info("Successfully extracted " + extraction.fields.size() + " fields from text data");
-        result.printSchema();
-        
-        return result;
+        return rawText.select(
+            selectColumns.toArray(new org.apache.spark.sql.Column[0])
+        );
     }
 }
-
@@ -0,0 +1,270 @@
+package com.datachef.transforms;
+
+import com.datachef.config.PipeConfig;
+import com.datachef.utils.Logger;
+import com.datachef.writers.IcebergWriter;
+import com.datachef.writers.TableStatistics;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.UpdateProperties;
+import org.apache.iceberg.spark.Spark3Util;
+import org.apache.iceberg.types.Types;
+import org.apache.spark.sql.Column;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.execution.QueryExecution;
+import org.apache.spark.sql.types.AtomicType;
+import org.apache.spark.sql.types.BinaryType;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.util.QueryExecutionListener;
+import scala.Option;
+import static org.apache.spark.sql.functions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Column profiles computed in the same pass as the Iceberg write
+ *
+ * The written DataFrame is observed with native aggregates (count, min, max and
+ * hll_sketch_agg per column) and the bounded TopValues aggregator, so no extra scan is
+ * needed. Summaries are stored as table properties under "datachef.profile.<column>" for
+ * the table detail page; the mergeable profile is stored as a blob of the snapshot's
+ * statistics file, so appends extend it instead of recomputing it. Counts are
+ * approximate if tasks are retried; min/max and distinct counts are not affected.
+ */
+public class ColumnProfiler {
+    public static final String PROPERTY_PREFIX = "datachef.profile.";
+    public static final String SNAPSHOT_PROPERTY = "datachef.profile-snapshot-id";
+    public static final String COMPLETE_PROPERTY = "datachef.profile-complete";
+    public static final String BLOB_TYPE = "datachef-column-profile-v1";
+
+    // Observed metrics arrive on the listener bus shortly after the write returns
+    private static final long METRICS_TIMEOUT_SECONDS = 30;
+    private static final AtomicInteger OBSERVATIONS = new AtomicInteger();
+
+    private final SparkSession spark;
+    private final String fullTableName;
+    private final boolean enabled;
+    private final boolean replacing;
+
+    private List<String> names;
+    private String observation;
+    private MetricsListener listener;
+    private Long baseSnapshotId;
+
+    /**
+     * @param spark  SparkSession
+     * @param output Output the batch is written to; appends extend the existing profile
+     */
+    public ColumnProfiler(SparkSession spark, PipeConfig.Output output) {
+        this.spark = spark;
+        this.fullTableName = IcebergWriter.fullTableName(output);
+        this.enabled = !Boolean.FALSE.equals(output.profile);
+        this.replacing = output.writeMode == null || "overwrite".equalsIgnoreCase(output.writeMode);
+    }
+
+    /**
+     * Attach profiling to the DataFrame about to be written
+     * Use the returned DataFrame for the write only; metrics of other actions are ignored
+     */
+    public Dataset<Row> apply(Dataset<Row> df) {
+        if (!enabled) {
+            return df;
+        }
+
+        names = new ArrayList<>();
+        List<Column> metrics = new ArrayList<>();
+        metrics.add(count(lit(1)));
+        for (StructField field : df.schema().fields()) {
+            if (field.dataType() instanceof AtomicType && !(field.dataType() instanceof BinaryType)) {
+                Column value = col(field.name());
+                names.add(field.name());
+                metrics.add(count(value));
+                metrics.add(min(value));
+                metrics.add(max(value));
+                metrics.add(hll_sketch_agg(value.cast("string"), ColumnProfile.HLL_LG_K));
+                metrics.add(TopValues.agg(value));
+            }
+        }
+        if (names.isEmpty()) {
+            names = null;
+            return df;
+        }
+
+        Table table = replacing ? null : loadTable();
+        Snapshot base = table != null ? table.currentSnapshot() : null;
+        baseSnapshotId = base != null ? base.snapshotId() : null;
+
+        observation = "datachef_profile_" + OBSERVATIONS.incrementAndGet();
+        listener = new MetricsListener(observation);
+        spark.listenerManager().register(listener);
+
+        return df.observe(observation, metrics.get(0), metrics.subList(1, metrics.size()).toArray(new Column[0]));
+    }
+
+    /**
+     * After a successful write, merge the batch profile into the table's profile and
+     * store the summaries as table properties
+     */
+    public void commit() throws Exception {
+        if (listener == null) {
+            return;
+        }
+
+        Row metrics;
+        try {
+            metrics = listener.await();
+        } finally {
+            spark.listenerManager().unregister(listener);
+            listener = null;
+        }
+        if (metrics == null) {
+            Logger.warn("Column profile metrics of " + fullTableName + " were not reported, profile not updated");
+            return;
+        }
+
+        Table table = loadTable();
+        if (table == null || table.currentSnapshot() == null) {
+            return;
+        }
+
+        Map<String, ColumnProfile> profiles = new LinkedHashMap<>();
+        long rows = metrics.getLong(0);
+        for (int i = 0; i < names.size(); i++) {
+            int offset = 1 + i * 5;
+            profiles.put(names.get(i), ColumnProfile.fromAggregates(names.get(i), rows,
+                    metrics.getLong(offset), metrics.get(offset + 1), metrics.get(offset + 2),
+                    metrics.isNullAt(offset + 3) ? null : (byte[]) metrics.get(offset + 3),
+                    metrics.getString(offset + 4)));
+        }
+
+        boolean complete = true;
+        if (!replacing && baseSnapshotId != null) {
+            ByteBuffer existing = TableStatistics.read(table, baseSnapshotId).get(BLOB_TYPE);
+            if (existing != null) {
+                JsonObject blob = JsonParser.parseString(StandardCharsets.UTF_8.decode(existing).toString())
+                        .getAsJsonObject();
+                JsonObject stored = blob.getAsJsonObject("columns");
+                complete = blob.get("complete").getAsBoolean();
+                for (Map.Entry<String, ColumnProfile> entry : profiles.entrySet()) {
+                    if (stored.has(entry.getKey())) {
+                        entry.getValue().merge(ColumnProfile.fromJson(entry.getKey(),
+                                stored.getAsJsonObject(entry.getKey())));
+                    }
+                }
+            } else {
+                Logger.warn("Column profile of " + fullTableName + " is missing or stale, profiling this batch only");
+                complete = false;
+            }
+        }
+
+        long snapshotId = table.currentSnapshot().snapshotId();
+        writeProfile(table, profiles, complete);
+
+        UpdateProperties update = table.updateProperties();
+        for (String key : table.properties().keySet()) {
+            if (key.startsWith(PROPERTY_PREFIX) && !profiles.containsKey(key.substring(PROPERTY_PREFIX.length()))) {
+                update.remove(key);
+            }
+        }
+        for (ColumnProfile profile : profiles.values()) {
+            update.set(PROPERTY_PREFIX + profile.getName(), profile.summary().toString());
+        }
+        update.set(SNAPSHOT_PROPERTY, Long.toString(snapshotId));
+        update.set(COMPLETE_PROPERTY, Boolean.toString(complete));
+        update.commit();
+
+        Logger.info("Updated column profiles for " + profiles.size() + " columns of " + fullTableName);
+    }
+
+    /**
+     * Column profiles stored in the table properties, keyed by column name
+     */
+    public static JsonObject read(Table table) {
+        JsonObject columns = new JsonObject();
+        for (Map.Entry<String, String> entry : table.properties().entrySet()) {
+            if (entry.getKey().startsWith(PROPERTY_PREFIX)) {
+                columns.add(entry.getKey().substring(PROPERTY_PREFIX.length()),
+                        JsonParser.parseString(entry.getValue()));
+            }
+        }
+
+        JsonObject profile = new JsonObject();
+        profile.add("columns", columns);
+        profile.addProperty("snapshotId", table.properties().get(SNAPSHOT_PROPERTY));
+        profile.addProperty("complete", !"false".equals(table.properties().get(COMPLETE_PROPERTY)));
+        return profile;
+    }
+
+    private Table loadTable() {
+        try {
+            return Spark3Util.loadIcebergTable(spark, fullTableName);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void writeProfile(Table table, Map<String, ColumnProfile> profiles, boolean complete) throws Exception {
+        JsonObject columns = new JsonObject();
+        List<Integer> fieldIds = new ArrayList<>();
+        for (ColumnProfile profile : profiles.values()) {
+            columns.add(profile.getName(), profile.toJson());
+            Types.NestedField field = table.schema().findField(profile.getName());
+            if (field != null) {
+                fieldIds.add(field.fieldId());
+            }
+        }
+
+        JsonObject blob = new JsonObject();
+        blob.add("columns", columns);
+        blob.addProperty("complete", complete);
+        TableStatistics.write(table, BLOB_TYPE, fieldIds,
+                ByteBuffer.wrap(blob.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Captures the observed metrics of the profiled write
+     */
+    private static class MetricsListener implements QueryExecutionListener {
+        private final String observation;
+        private final CountDownLatch reported = new CountDownLatch(1);
+        private final AtomicReference<Row> metrics = new AtomicReference<>();
+
+        MetricsListener(String observation) {
+            this.observation = observation;
+        }
+
+        @Override
+        public void onSuccess(String funcName, QueryExecution qe, long durationNs) {
+            Option<Row> row = qe.observedMetrics().get(observation);
+            if (row.isDefined()) {
+                metrics.set(row.get());
+                reported.countDown();
+            }
+        }
+
+        @Override
+        public void onFailure(String funcName, QueryExecution qe, Exception exception) {
+        }
+
+        /**
+         * Metrics of the write, or null if they were not reported in time
+         */
+        Row await() throws InterruptedException {
+            reported.await(METRICS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return metrics.get();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.datachef.transforms;
+
+import com.datachef.config.PipeConfig;
+import com.datachef.utils.Logger;
+import com.datachef.writers.IcebergWriter;
+import com.datachef.writers.TableStatistics;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.spark.Spark3Util;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
+import org.apache.spark.sql.Column;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.api.java.UDF1;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.spark.util.sketch.BloomFilter;
+import org.apache.spark.util.sketch.IncompatibleMergeException;
+import static org.apache.spark.sql.functions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Optional dedup stage between read and write
+ *
+ * "exact" drops duplicates within the batch and anti-joins against the rows already
+ * in the table (restricted to the touched partitions when partitioning keys are set).
+ * "bloom" checks incoming keys against a Bloom filter kept in the table's statistics
+ * file for the snapshot it covers, so historical data is never scanned; a false positive
+ * drops a new row with probability fpp. When the current snapshot has no filter, e.g.
+ * after a crash between the data commit and the filter update, the batch falls back to
+ * the exact anti-join and the filter is rebuilt from the table.
+ */
+public class Deduplicator {
+    private static final long DEFAULT_EXPECTED_ITEMS = 10_000_000L;
+    private static final double DEFAULT_FPP = 0.01;
+    private static final String BLOB_TYPE = "datachef-dedup-bloom-v1";
+    private static final String KEY_COLUMN = "_dedup_key";
+
+    private final SparkSession spark;
+    private final PipeConfig.Dedup dedup;
+    private final PipeConfig.Partitioning partitioning;
+    private final String fullTableName;
+    private final boolean replacing;
+
+    private BloomFilter existingFilter;
+    private boolean rebuildFilter = false;
+    private boolean readsTable = false;
+
+    /**
+     * @param spark        SparkSession
+     * @param pipe         Pipe configuration with dedup settings
+     * @param output       Output the batch is written to; its write mode decides whether
+     *                     existing rows count as duplicates
+     */
+    public Deduplicator(SparkSession spark, PipeConfig.Pipe pipe, PipeConfig.Output output) {
+        this.spark = spark;
+        this.dedup = pipe.dedup;
+        this.partitioning = pipe.partitioning;
+        this.fullTableName = IcebergWriter.fullTableName(output);
+        this.replacing = output.writeMode == null || "overwrite".equalsIgnoreCase(output.writeMode);
+    }
+
+    public boolean isEnabled() {
+        return dedup != null && Boolean.TRUE.equals(dedup.enabled);
+    }
+
+    /**
+     * Whether the deduplicated batch also scans the existing table, so the write's input
+     * bytes include table data as well as the source
+     */
+    public boolean readsTable() {
+        return readsTable;
+    }
+
+    /**
+     * Remove duplicate records from the batch
+     */
+    public Dataset<Row> apply(Dataset<Row> df) {
+        if (!isEnabled()) {
+            return df;
+        }
+
+        List<String> keys = keyColumns(df);
+        String mode = dedup.mode != null ? dedup.mode.toLowerCase() : "exact";
+        Logger.info("Deduplicating (" + mode + ") on " + (dedup.keys != null && !dedup.keys.isEmpty()
+                ? "columns " + keys : "whole record"));
+
+        Dataset<Row> deduped = df.dropDuplicates(keys.toArray(new String[0]));
+        Table table = replacing ? null : loadTable();
+
+        switch (mode) {
+            case "exact":
+                return table != null ? antiJoinExisting(deduped, keys) : deduped;
+            case "bloom":
+                if (table != null && table.currentSnapshot() != null) {
+                    existingFilter = readFilter(table);
+                    if (existingFilter != null) {
+                        deduped = filterSeen(deduped, keys, existingFilter);
+                    } else {
+                        Logger.warn("Dedup Bloom filter of " + fullTableName + " is missing or stale, "
+                                + "using the exact anti-join and rebuilding the filter");
+                        deduped = antiJoinExisting(deduped, keys);
+                        rebuildFilter = true;
+                    }
+                }
+                // The batch is read again after the write to extend the filter
+                return deduped.persist(StorageLevel.MEMORY_AND_DISK());
+            default:
+                throw new IllegalArgumentException("Unsupported dedup mode: " + dedup.mode);
+        }
+    }
+
+    /**
+     * After a successful write, add the written keys to the table's Bloom filter
+     */
+    public void commit(Dataset<Row> written) throws Exception {
+        if (!isEnabled() || !"bloom".equalsIgnoreCase(dedup.mode)) {
+            return;
+        }
+
+        long expectedItems = dedup.expectedItems != null ? dedup.expectedItems : DEFAULT_EXPECTED_ITEMS;
+        double fpp = dedup.fpp != null ? dedup.fpp : DEFAULT_FPP;
+
+        List<String> keys = keyColumns(written);
+        BloomFilter filter;
+        if (rebuildFilter) {
+            filter = buildFilter(spark.read().table(fullTableName), keys, expectedItems, fpp);
+        } else {
+            filter = buildFilter(written, keys, expectedItems, fpp);
+            if (existingFilter != null) {
+                try {
+                    filter.mergeInPlace(existingFilter);
+                } catch (IncompatibleMergeException e) {
+                    Logger.warn("Dedup Bloom filter settings changed, rebuilding the filter: " + e.getMessage());
+                    filter = buildFilter(spark.read().table(fullTableName), keys, expectedItems, fpp);
+                }
+            }
+        }
+
+        if (filter.expectedFpp() > fpp * 10) {
+            Logger.warn("Dedup Bloom filter is saturated (expected fpp " + filter.expectedFpp()
+                    + "), consider raising dedup.expectedItems");
+        }
+
+        Table table = loadTable();
+        if (table != null) {
+            writeFilter(table, filter, keys);
+        }
+    }
+
+    private static BloomFilter buildFilter(Dataset<Row> df, List<String> keys, long expectedItems, double fpp) {
+        return df.select(keyHash(keys).alias(KEY_COLUMN))
+                .stat()
+                .bloomFilter(KEY_COLUMN, expectedItems, fpp);
+    }
+
+    private List<String> keyColumns(Dataset<Row> df) {
+        if (dedup.keys != null && !dedup.keys.isEmpty()) {
+            return dedup.keys;
+        }
+        return Arrays.asList(df.columns());
+    }
+
+    private static Column keyHash(List<String> keys) {
+        return xxhash64(columns(keys));
+    }
+
+    private static Column[] columns(List<String> names) {
+        List<Column> columns = new ArrayList<>();
+        for (String name : names) {
+            columns.add(col(name));
+        }
+        return columns.toArray(new Column[0]);
+    }
+
+    /**
+     * Drop rows whose key already exists in the table
+     */
+    private Dataset<Row> antiJoinExisting(Dataset<Row> df, List<String> keys) {
+        readsTable = true;
+        Dataset<Row> existing = spark.read().table(fullTableName).select(columns(keys));
+
+        // Restrict the existing side to the partitions present in the batch, which lets
+        // dynamic partition pruning skip the untouched partitions
+        if (partitioning != null && Boolean.TRUE.equals(partitioning.enabled)
+                && partitioning.keys != null && !partitioning.keys.isEmpty()
+                && keys.containsAll(partitioning.keys)) {
+            // Aliased so the batch's own attributes do not appear on both sides of the final join
+            List<Column> partitionValues = new ArrayList<>();
+            for (String key : partitioning.keys) {
+                partitionValues.add(col(key).alias("_touched_" + key));
+            }
+            Dataset<Row> touched = df.select(partitionValues.toArray(new Column[0])).distinct();
+            Column inTouched = null;
+            for (String key : partitioning.keys) {
+                Column equal = existing.col(key).eqNullSafe(touched.col("_touched_" + key));
+                inTouched = inTouched == null ? equal : inTouched.and(equal);
+            }
+            existing = existing.join(broadcast(touched), inTouched, "left_semi");
+        }
+
+        Column condition = null;
+        for (String key : keys) {
+            Column equal = df.col(key).eqNullSafe(existing.col(key));
+            condition = condition == null ? equal : condition.and(equal);
+        }
+        return df.join(existing, condition, "left_anti");
+    }
+
+    /**
+     * Drop rows whose key hash may already be in the filter
+     */
+    private Dataset<Row> filterSeen(Dataset<Row> df, List<String> keys, BloomFilter filter) {
+        Broadcast<BloomFilter> broadcastFilter = JavaSparkContext.fromSparkContext(spark.sparkContext())
+                .broadcast(filter);
+        Column unseen = udf((UDF1<Long, Boolean>) key -> !broadcastFilter.value().mightContainLong(key),
+                DataTypes.BooleanType).apply(keyHash(keys));
+        return df.filter(unseen);
+    }
+
+    private Table loadTable() {
+        try {
+            return Spark3Util.loadIcebergTable(spark, fullTableName);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Filter covering the table as of its current snapshot, null if there is none
+     */
+    private BloomFilter readFilter(Table table) {
+        ByteBuffer blob = TableStatistics.read(table, table.currentSnapshot().snapshotId()).get(BLOB_TYPE);
+        if (blob == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = new byte[blob.remaining()];
+            blob.duplicate().get(bytes);
+            return BloomFilter.readFrom(new ByteArrayInputStream(bytes));
+        } catch (Exception e) {
+            Logger.warn("Failed to read dedup Bloom filter of " + fullTableName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeFilter(Table table, BloomFilter filter, List<String> keys) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        filter.writeTo(out);
+
+        List<Integer> fieldIds = new ArrayList<>();
+        for (String key : keys) {
+            fieldIds.add(table.schema().findField(key).fieldId());
+        }
+        TableStatistics.write(table, BLOB_TYPE, fieldIds, ByteBuffer.wrap(out.toByteArray()));
+        Logger.info("Updated dedup Bloom filter for snapshot " + table.currentSnapshot().snapshotId());
+    }
+}
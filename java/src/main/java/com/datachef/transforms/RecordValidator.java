@@ -0,0 +1,215 @@
+package com.datachef.transforms;
+
+import com.datachef.config.PipeConfig;
+import com.datachef.utils.JobControl;
+import com.datachef.utils.JobMetrics;
+import com.datachef.utils.Logger;
+import org.apache.spark.SparkContext;
+import org.apache.spark.scheduler.SparkListener;
+import org.apache.spark.scheduler.SparkListenerTaskEnd;
+import org.apache.spark.sql.Column;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.api.java.UDF1;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.util.LongAccumulator;
+import static org.apache.spark.sql.functions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tags parsed records with a reject reason so that one parse can be split into
+ * accepted rows and, when a quarantine table is configured, quarantined rows
+ *
+ * Text pipes reject unmatched fields and failed casts; other readers only reject failed
+ * casts of declared columns, following recordBoundary.fieldExtraction.onError when set.
+ */
+public class RecordValidator {
+    public static final String RAW_COLUMN = "_raw";
+    public static final String SOURCE_FILE_COLUMN = "_source_file";
+    public static final String REASON_COLUMN = "_reject_reason";
+    public static final String REJECTED_METRIC = "records_rejected";
+
+    private static final String EMPTY_COLUMN = "_empty_fields";
+
+    private static RejectThresholdListener thresholdListener;
+
+    /**
+     * Cast declared types and add REASON_COLUMN ("" for accepted records)
+     *
+     * @param spark      SparkSession
+     * @param parsed     Extracted string fields, plus RAW_COLUMN and SOURCE_FILE_COLUMN when
+     *                   rejected records are quarantined
+     * @param extraction Field extraction configuration (onError, maxRejects); regex fields
+     *                   are checked for empty matches. May be null for non-text readers.
+     * @param schema     Pipe schema with declared column types
+     * @return Typed DataFrame with REASON_COLUMN
+     */
+    public static Dataset<Row> tag(SparkSession spark, Dataset<Row> parsed,
+                                   PipeConfig.FieldExtraction extraction, PipeConfig.Schema schema) {
+        String onError = extraction != null && extraction.onError != null ? extraction.onError : "null";
+        long maxRejects = extraction != null && extraction.maxRejects != null ? extraction.maxRejects : 0L;
+
+        List<Column> emptyFlags = new ArrayList<>();
+        if (extraction != null && extraction.fields != null) {
+            for (PipeConfig.RegexField field : extraction.fields) {
+                emptyFlags.add(when(col(field.name).equalTo(""), lit(field.name)));
+            }
+        }
+
+        Column empty = emptyFlags.isEmpty() ? lit("") : concat_ws(",", emptyFlags.toArray(new Column[0]));
+        Dataset<Row> checked = parsed.withColumn(EMPTY_COLUMN, empty);
+        checked = TypeCaster.withCastErrors(spark, checked, schema);
+
+        Column castErrors = Arrays.asList(checked.columns()).contains(TypeCaster.ERRORS_COLUMN)
+                ? col(TypeCaster.ERRORS_COLUMN) : lit("");
+        Column reason = concat_ws("; ",
+                when(col(EMPTY_COLUMN).notEqual(""), concat(lit("no match: "), col(EMPTY_COLUMN))),
+                when(castErrors.notEqual(""), concat(lit("cast failed: "), castErrors)));
+
+        LongAccumulator rejected = JobMetrics.counter(spark, REJECTED_METRIC);
+        boolean failFast = "fail".equals(onError);
+        if (failFast) {
+            Logger.info("Failing once more than " + maxRejects + " records are rejected");
+            registerThresholdListener(spark.sparkContext(), maxRejects);
+        }
+
+        Column tagged = udf(new RejectRecorder(rejected, !"null".equals(onError), failFast, maxRejects),
+                DataTypes.StringType)
+                .asNondeterministic()
+                .apply(reason);
+
+        return checked.withColumn(REASON_COLUMN, tagged)
+                .drop(EMPTY_COLUMN, TypeCaster.ERRORS_COLUMN);
+    }
+
+    /**
+     * Register the run's reject threshold listener; later reads of the same run, such as
+     * further chunks, share it since the reject counter covers the whole run
+     */
+    private static synchronized void registerThresholdListener(SparkContext sparkContext, long maxRejects) {
+        if (thresholdListener == null) {
+            thresholdListener = new RejectThresholdListener(sparkContext, maxRejects);
+            sparkContext.addSparkListener(thresholdListener);
+        }
+    }
+
+    /**
+     * Apply the declared column types to a non-text reader's output and keep the records
+     * that pass; returns df unchanged when the pipe declares no column types
+     */
+    public static Dataset<Row> validate(SparkSession spark, Dataset<Row> df, PipeConfig.Pipe pipe) {
+        if (!TypeCaster.declaresColumns(pipe.schema)) {
+            return df;
+        }
+        if (pipe.output != null && pipe.output.quarantineTable != null && !pipe.output.quarantineTable.isEmpty()) {
+            Logger.warn("Quarantine tables are written for text pipes only; rejected records are counted and dropped");
+        }
+        return accepted(tag(spark, df, pipe.recordBoundary.fieldExtraction, pipe.schema));
+    }
+
+    /**
+     * Tag a non-text reader's sample the way validate() would, keeping rejected records
+     * and REASON_COLUMN for the preview; returns df unchanged when the pipe declares no
+     * column types
+     */
+    public static Dataset<Row> tagSample(SparkSession spark, Dataset<Row> df, PipeConfig.Pipe pipe) {
+        if (!TypeCaster.declaresColumns(pipe.schema)) {
+            return df;
+        }
+        return tag(spark, df, preview(pipe.recordBoundary.fieldExtraction), pipe.schema);
+    }
+
+    /**
+     * Extraction settings for previews: rejects are reported instead of aborting on them
+     */
+    public static PipeConfig.FieldExtraction preview(PipeConfig.FieldExtraction extraction) {
+        PipeConfig.FieldExtraction preview = new PipeConfig.FieldExtraction();
+        if (extraction != null) {
+            preview.method = extraction.method;
+            preview.fields = extraction.fields;
+            preview.onError = "fail".equals(extraction.onError) ? "skip" : extraction.onError;
+        }
+        return preview;
+    }
+
+    /**
+     * Records that passed validation, without the bookkeeping columns
+     */
+    public static Dataset<Row> accepted(Dataset<Row> tagged) {
+        return tagged.filter(col(REASON_COLUMN).equalTo(""))
+                .drop(REASON_COLUMN, RAW_COLUMN, SOURCE_FILE_COLUMN);
+    }
+
+    /**
+     * Rejected records in quarantine table layout
+     */
+    public static Dataset<Row> rejected(Dataset<Row> tagged) {
+        return tagged.filter(col(REASON_COLUMN).notEqual(""))
+                .select(
+                        col(RAW_COLUMN).alias("raw_line"),
+                        col(SOURCE_FILE_COLUMN).alias("source_file"),
+                        col(REASON_COLUMN).alias("reject_reason"),
+                        current_timestamp().alias("rejected_at"));
+    }
+
+    /**
+     * Counts rejected records and aborts the task once its own rejects exceed the threshold
+     * In "null" mode nothing is rejected; failed fields are kept as null
+     */
+    private static class RejectRecorder implements UDF1<String, String> {
+        private final LongAccumulator rejected;
+        private final boolean rejecting;
+        private final boolean failFast;
+        private final long maxRejects;
+        private long taskRejects = 0L;
+
+        RejectRecorder(LongAccumulator rejected, boolean rejecting, boolean failFast, long maxRejects) {
+            this.rejected = rejected;
+            this.rejecting = rejecting;
+            this.failFast = failFast;
+            this.maxRejects = maxRejects;
+        }
+
+        @Override
+        public String call(String reason) {
+            if (!rejecting || reason == null || reason.isEmpty()) {
+                return "";
+            }
+            rejected.add(1L);
+            taskRejects++;
+            if (failFast && taskRejects > maxRejects) {
+                throw new IllegalStateException("Reject threshold of " + maxRejects + " exceeded: " + reason);
+            }
+            return reason;
+        }
+    }
+
+    /**
+     * Cancels the pipe's job group as soon as the run-wide reject count crosses the
+     * threshold, instead of waiting for the remaining tasks to finish the scan
+     */
+    private static class RejectThresholdListener extends SparkListener {
+        private final SparkContext sparkContext;
+        private final long maxRejects;
+        private volatile boolean triggered = false;
+
+        RejectThresholdListener(SparkContext sparkContext, long maxRejects) {
+            this.sparkContext = sparkContext;
+            this.maxRejects = maxRejects;
+        }
+
+        @Override
+        public void onTaskEnd(SparkListenerTaskEnd taskEnd) {
+            long rejects = JobMetrics.value(REJECTED_METRIC);
+            if (!triggered && rejects > maxRejects) {
+                triggered = true;
+                Logger.error("Reject threshold exceeded (" + rejects + " > " + maxRejects + "), cancelling jobs");
+                sparkContext.cancelJobGroup(JobControl.JOB_GROUP);
+            }
+        }
+    }
+}
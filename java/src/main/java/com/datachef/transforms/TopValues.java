@@ -0,0 +1,156 @@
+package com.datachef.transforms;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.apache.spark.sql.Column;
+import org.apache.spark.sql.Encoder;
+import org.apache.spark.sql.Encoders;
+import org.apache.spark.sql.expressions.Aggregator;
+import static org.apache.spark.sql.functions.udaf;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable value frequencies of one column, for its most frequent values
+ *
+ * Counts are exact as long as the column has at most MAX_TRACKED_VALUES distinct
+ * values; past that the map is dropped and the column reports no top values, which
+ * keeps the aggregation buffer bounded. Values are truncated to MAX_VALUE_LENGTH
+ * characters before counting.
+ */
+public class TopValues implements Serializable {
+    public static final int MAX_TRACKED_VALUES = 1000;
+    public static final int TOP_K = 10;
+    public static final int MAX_VALUE_LENGTH = 64;
+
+    private HashMap<String, Long> counts = new HashMap<>();
+    private boolean overflow = false;
+
+    /**
+     * Aggregate column producing the stored form (see toJson()) of the values' frequencies
+     * Can be used with observe(), so it is computed in the same pass as the write
+     */
+    public static Column agg(Column value) {
+        return udaf(new FrequencyAggregator(), Encoders.STRING()).apply(value.cast("string"));
+    }
+
+    /**
+     * Frequencies from their stored form; a missing form, as written before top values
+     * were tracked, yields frequencies that report no top values
+     */
+    public static TopValues fromJson(JsonObject json) {
+        TopValues values = new TopValues();
+        if (json == null || json.get("overflow").getAsBoolean()) {
+            values.overflow();
+            return values;
+        }
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("counts").entrySet()) {
+            values.counts.put(entry.getKey(), entry.getValue().getAsLong());
+        }
+        return values;
+    }
+
+    public void add(String value, long count) {
+        if (overflow) {
+            return;
+        }
+        String key = value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) : value;
+        counts.merge(key, count, Long::sum);
+        if (counts.size() > MAX_TRACKED_VALUES) {
+            overflow();
+        }
+    }
+
+    /**
+     * Merge another column's frequencies into these
+     */
+    public void merge(TopValues other) {
+        if (other.overflow) {
+            overflow();
+        }
+        for (Map.Entry<String, Long> entry : other.counts.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Stored form, including every tracked count needed to merge later batches
+     */
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("overflow", overflow);
+        JsonObject stored = new JsonObject();
+        counts.forEach(stored::addProperty);
+        json.add("counts", stored);
+        return json;
+    }
+
+    /**
+     * The TOP_K most frequent values with their counts, or null if they are not known
+     */
+    public JsonArray top() {
+        if (overflow) {
+            return null;
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        JsonArray top = new JsonArray();
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(TOP_K, entries.size()))) {
+            JsonObject item = new JsonObject();
+            item.addProperty("value", entry.getKey());
+            item.addProperty("count", entry.getValue());
+            top.add(item);
+        }
+        return top;
+    }
+
+    private void overflow() {
+        overflow = true;
+        counts = new HashMap<>();
+    }
+
+    /**
+     * Typed aggregator behind agg(); the buffer is the bounded map itself
+     */
+    private static class FrequencyAggregator extends Aggregator<String, TopValues, String> {
+        @Override
+        public TopValues zero() {
+            return new TopValues();
+        }
+
+        @Override
+        public TopValues reduce(TopValues buffer, String value) {
+            if (value != null) {
+                buffer.add(value, 1L);
+            }
+            return buffer;
+        }
+
+        @Override
+        public TopValues merge(TopValues a, TopValues b) {
+            a.merge(b);
+            return a;
+        }
+
+        @Override
+        public String finish(TopValues buffer) {
+            return buffer.toJson().toString();
+        }
+
+        @Override
+        public Encoder<TopValues> bufferEncoder() {
+            return Encoders.javaSerialization(TopValues.class);
+        }
+
+        @Override
+        public Encoder<String> outputEncoder() {
+            return Encoders.STRING();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.datachef.transforms;
+
+import com.datachef.config.PipeConfig;
+import com.datachef.utils.JobMetrics;
+import com.datachef.utils.Logger;
+import org.apache.spark.sql.Column;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.api.java.UDF1;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.util.LongAccumulator;
+import static org.apache.spark.sql.functions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies declared schema column types to string-extracted fields
+ * Casting is a plain projection, so Spark fuses it into the extraction stage
+ */
+public class TypeCaster {
+    public static final String ERRORS_COLUMN = "_cast_errors";
+    public static final String METRIC_PREFIX = "cast_failures.";
+    private static final String INTEGRAL_PATTERN = "^[+-]?[0-9]+$";
+
+    /**
+     * Cast declared columns and add ERRORS_COLUMN holding the comma-separated names of
+     * fields that failed conversion ("" when the record is clean). Returns df unchanged
+     * when the schema declares no types for its columns.
+     */
+    public static Dataset<Row> withCastErrors(SparkSession spark, Dataset<Row> df, PipeConfig.Schema schema) {
+        if (!declaresColumns(schema)) {
+            return df;
+        }
+
+        Map<String, PipeConfig.Column> declared = new HashMap<>();
+        for (PipeConfig.Column column : schema.columns) {
+            if (column.name != null && !column.name.isEmpty()) {
+                declared.put(column.name, column);
+            }
+        }
+
+        List<Column> typedColumns = new ArrayList<>();
+        List<Column> errorFlags = new ArrayList<>();
+        HashMap<String, LongAccumulator> counters = new HashMap<>();
+
+        for (String name : df.columns()) {
+            PipeConfig.Column column = declared.get(name);
+            if (column == null) {
+                typedColumns.add(col(name));
+                continue;
+            }
+
+            Column raw = col(name);
+            Column typed = castColumn(raw, column);
+            boolean required = Boolean.FALSE.equals(column.nullable);
+            if (typed == raw && !required) {
+                typedColumns.add(raw);
+                continue;
+            }
+
+            Column failed;
+            if (required) {
+                // regexp_extract yields "" rather than null for a missed field, so blank
+                // counts as missing for required columns of any type
+                typed = when(trim(raw).notEqual(""), typed);
+                failed = typed.isNull();
+            } else {
+                failed = raw.isNotNull().and(trim(raw).notEqual("")).and(typed.isNull());
+            }
+
+            Logger.info("Casting field '" + name + "' to " + (column.type != null ? column.type : "string"));
+            typedColumns.add(typed.alias(name));
+            errorFlags.add(when(failed, lit(name)));
+            counters.put(name, JobMetrics.counter(spark, METRIC_PREFIX + name));
+        }
+
+        if (errorFlags.isEmpty()) {
+            return df;
+        }
+
+        // concat_ws skips nulls, leaving only the names of failed fields
+        Column errors = udf(new CastErrorRecorder(counters), DataTypes.StringType)
+                .asNondeterministic()
+                .apply(concat_ws(",", errorFlags.toArray(new Column[0])));
+        typedColumns.add(errors.alias(ERRORS_COLUMN));
+
+        return df.select(typedColumns.toArray(new Column[0]));
+    }
+
+    /**
+     * Whether the schema declares column types to apply instead of inferring them
+     */
+    public static boolean declaresColumns(PipeConfig.Schema schema) {
+        return schema != null && !Boolean.TRUE.equals(schema.inferFromData)
+                && schema.columns != null && !schema.columns.isEmpty();
+    }
+
+    /**
+     * Build the cast expression for a declared column type
+     */
+    public static Column castColumn(Column raw, PipeConfig.Column column) {
+        String type = column.type != null ? column.type.toLowerCase() : "string";
+
+        switch (type) {
+            case "string":
+                return raw;
+            case "int":
+            case "integer":
+                // A plain cast truncates "12.9" to 12; non-integral input fails instead
+                return when(trim(raw).rlike(INTEGRAL_PATTERN), trim(raw).cast(DataTypes.IntegerType));
+            case "long":
+            case "bigint":
+                return when(trim(raw).rlike(INTEGRAL_PATTERN), trim(raw).cast(DataTypes.LongType));
+            case "float":
+                return trim(raw).cast(DataTypes.FloatType);
+            case "double":
+                return trim(raw).cast(DataTypes.DoubleType);
+            case "boolean":
+                return trim(raw).cast(DataTypes.BooleanType);
+            case "decimal":
+                int precision = column.precision != null ? column.precision : 38;
+                int scale = column.scale != null ? column.scale : 18;
+                return trim(raw).cast(DataTypes.createDecimalType(precision, scale));
+            case "date":
+                return column.format != null && !column.format.isEmpty()
+                        ? to_date(trim(raw), column.format)
+                        : trim(raw).cast(DataTypes.DateType);
+            case "timestamp":
+                return column.format != null && !column.format.isEmpty()
+                        ? to_timestamp(trim(raw), column.format)
+                        : trim(raw).cast(DataTypes.TimestampType);
+            case "binary":
+                return raw.cast(DataTypes.BinaryType);
+            default:
+                throw new IllegalArgumentException("Unsupported column type: " + column.type);
+        }
+    }
+
+    /**
+     * Counts failed fields per record into accumulators and passes the error list through
+     */
+    private static class CastErrorRecorder implements UDF1<String, String> {
+        private final HashMap<String, LongAccumulator> counters;
+
+        CastErrorRecorder(HashMap<String, LongAccumulator> counters) {
+            this.counters = counters;
+        }
+
+        @Override
+        public String call(String errors) {
+            if (errors == null || errors.isEmpty()) {
+                return "";
+            }
+            for (String field : errors.split(",")) {
+                LongAccumulator counter = counters.get(field);
+                if (counter != null) {
+                    counter.add(1L);
+                }
+            }
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.datachef.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.apache.spark.SparkContext;
+import org.apache.spark.executor.TaskMetrics;
+import org.apache.spark.scheduler.AccumulableInfo;
+import org.apache.spark.scheduler.SparkListener;
+import org.apache.spark.scheduler.SparkListenerJobStart;
+import org.apache.spark.scheduler.SparkListenerStageSubmitted;
+import org.apache.spark.scheduler.SparkListenerTaskEnd;
+import org.apache.spark.sql.SparkSession;
+import scala.collection.Iterator;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run control for a pipe execution
+ *
+ * Listens for control messages on stdin ("cancel" or {"command":"cancel"}) and cancels
+ * the pipe's job group. Cancelled Iceberg writes are aborted by Spark before commit, so
+ * the table stays at its last committed snapshot and written data files are cleaned up.
+ * Progress is gathered from listener callbacks on the driver and logged as "progress"
+ * events on a timer, so nothing is added to the executors' data path. Only tasks of
+ * write phases are counted, so schema inference or emptiness probes before the write
+ * do not report the run as done before it has started writing.
+ *
+ * Percent complete and ETA follow the source bytes read: the tasks' input metrics, plus
+ * the STREAMED_BYTES counter for readers that open files themselves and so report no
+ * input metrics. When no bytes are reported, or the write also scans the output table
+ * (exact dedup) so input bytes no longer measure the source, they follow the share of
+ * completed tasks instead, which is coarser because later stages add tasks as they start.
+ */
+public class JobControl extends SparkListener {
+    public static final String JOB_GROUP = "datachef-pipe";
+    public static final String STREAMED_BYTES = "source_bytes_streamed";
+    private static final long REPORT_INTERVAL_SECONDS = 5;
+
+    private final SparkContext sparkContext;
+    private final long totalBytes;
+    private final int totalFiles;
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong filesRead = new AtomicLong();
+    private final AtomicLong tasksCompleted = new AtomicLong();
+    private final AtomicLong tasksTotal = new AtomicLong();
+
+    private final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "datachef-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean cancelled = false;
+    private volatile boolean writing = false;
+    private volatile boolean countTasks = false;
+
+    private JobControl(SparkContext sparkContext, long totalBytes, int totalFiles) {
+        this.sparkContext = sparkContext;
+        this.totalBytes = totalBytes;
+        this.totalFiles = totalFiles;
+    }
+
+    /**
+     * Put the calling thread's jobs into the pipe job group and start listening for
+     * control messages and reporting progress
+     *
+     * @param spark      SparkSession
+     * @param totalBytes Total size of the source files, used for percent complete and ETA
+     * @param totalFiles Number of source files
+     */
+    public static JobControl start(SparkSession spark, long totalBytes, int totalFiles) {
+        SparkContext sc = spark.sparkContext();
+        JobControl control = new JobControl(sc, totalBytes, totalFiles);
+
+        // interruptOnCancel=false lets running tasks stop at their next check instead of
+        // interrupting S3 uploads mid-stream
+        sc.setJobGroup(JOB_GROUP, "Data Chef pipe execution", false);
+        sc.addSparkListener(control);
+
+        Thread stdinListener = new Thread(control::listenForCommands, "datachef-control");
+        stdinListener.setDaemon(true);
+        stdinListener.start();
+
+        control.reporter.scheduleAtFixedRate(control::reportProgress,
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        return control;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Throw if cancellation was requested; call between stages that start new writes
+     */
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Pipe execution cancelled");
+        }
+    }
+
+    /**
+     * Cancel the pipe's running jobs; jobs submitted afterwards are cancelled on start
+     */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            Logger.warn("Cancellation requested, cancelling job group " + JOB_GROUP);
+            sparkContext.cancelJobGroup(JOB_GROUP);
+        }
+    }
+
+    /**
+     * Start counting task progress; call right before the write that reads the source
+     *
+     * @param readsTable Whether the write also scans the output table, in which case
+     *                   progress follows completed tasks instead of input bytes
+     */
+    public void beginWrite(boolean readsTable) {
+        countTasks = countTasks || readsTable;
+        writing = true;
+    }
+
+    /**
+     * Stop counting task progress after the write
+     */
+    public void endWrite() {
+        writing = false;
+    }
+
+    /**
+     * Record source files skipped because an earlier run already committed them
+     */
+    public void filesSkipped(int count, long bytes) {
+        filesRead.addAndGet(count);
+        bytesRead.addAndGet(bytes);
+    }
+
+    /**
+     * Record source files whose data has been committed
+     */
+    public void filesCompleted(int count) {
+        filesRead.addAndGet(count);
+    }
+
+    /**
+     * Stop reporting and log the final progress
+     */
+    public void stop() {
+        reporter.shutdownNow();
+        reportProgress();
+    }
+
+    @Override
+    public void onJobStart(SparkListenerJobStart jobStart) {
+        if (cancelled) {
+            sparkContext.cancelJob(jobStart.jobId());
+        }
+    }
+
+    @Override
+    public void onStageSubmitted(SparkListenerStageSubmitted stageSubmitted) {
+        if (!writing) {
+            return;
+        }
+        tasksTotal.addAndGet(stageSubmitted.stageInfo().numTasks());
+    }
+
+    @Override
+    public void onTaskEnd(SparkListenerTaskEnd taskEnd) {
+        if (!writing || !taskEnd.taskInfo().successful()) {
+            return;
+        }
+        tasksCompleted.incrementAndGet();
+
+        TaskMetrics metrics = taskEnd.taskMetrics();
+        if (metrics != null) {
+            bytesRead.addAndGet(metrics.inputMetrics().bytesRead());
+            recordsRead.addAndGet(metrics.inputMetrics().recordsRead());
+        }
+        Iterator<AccumulableInfo> accumulables = taskEnd.taskInfo().accumulables().iterator();
+        while (accumulables.hasNext()) {
+            AccumulableInfo info = accumulables.next();
+            if (info.name().isDefined() && STREAMED_BYTES.equals(info.name().get()) && info.update().isDefined()) {
+                bytesRead.addAndGet(((Number) info.update().get()).longValue());
+            }
+        }
+    }
+
+    private void listenForCommands() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command;
+                try {
+                    command = parseCommand(line.trim());
+                } catch (Exception e) {
+                    Logger.warn("Ignoring malformed control message: " + line);
+                    continue;
+                }
+                if ("cancel".equals(command)) {
+                    cancel();
+                } else if (command != null) {
+                    Logger.warn("Unknown control command: " + command);
+                }
+            }
+        } catch (Exception e) {
+            Logger.warn("Control channel closed: " + e.getMessage());
+        }
+    }
+
+    private static String parseCommand(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        if (!line.startsWith("{")) {
+            return line;
+        }
+        JsonElement command = JsonParser.parseString(line).getAsJsonObject().get("command");
+        return command != null ? command.getAsString() : null;
+    }
+
+    private void reportProgress() {
+        long bytes = bytesRead.get();
+        long elapsedMs = System.currentTimeMillis() - startTime;
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("bytesRead", bytes);
+        fields.put("bytesTotal", totalBytes);
+        fields.put("recordsRead", recordsRead.get());
+        fields.put("filesRead", filesRead.get());
+        fields.put("filesTotal", totalFiles);
+        fields.put("tasksCompleted", tasksCompleted.get());
+        fields.put("tasksTotal", tasksTotal.get());
+        fields.put("elapsedMs", elapsedMs);
+
+        StringBuilder message = new StringBuilder("Progress: ");
+        Double fraction = null;
+        if (!countTasks && totalBytes > 0 && bytes > 0) {
+            // Input bytes can exceed the source size when a stage re-reads it
+            fraction = Math.min(1.0, (double) bytes / totalBytes);
+        } else if (tasksTotal.get() > 0) {
+            fraction = Math.min(1.0, (double) tasksCompleted.get() / tasksTotal.get());
+        } else if (totalBytes > 0) {
+            fraction = 0.0;
+        }
+        if (fraction != null) {
+            fields.put("percent", Math.round(fraction * 1000) / 10.0);
+            message.append(fields.get("percent")).append("% ");
+            if (fraction > 0 && fraction < 1.0) {
+                long etaMs = (long) (elapsedMs * (1.0 - fraction) / fraction);
+                fields.put("etaMs", etaMs);
+                message.append("(ETA ").append(etaMs / 1000).append("s) ");
+            }
+        }
+        message.append(bytes).append(" bytes, ")
+                .append(tasksCompleted.get()).append("/").append(tasksTotal.get()).append(" tasks");
+
+        Logger.event("progress", message.toString(), fields);
+    }
+}
@@ -0,0 +1,42 @@
+package com.datachef.utils;
+
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.util.LongAccumulator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry of named Spark accumulators for per-record counters
+ * Counters are incremented on executors and reported from the driver via Logger
+ */
+public class JobMetrics {
+    private static final Map<String, LongAccumulator> counters = new LinkedHashMap<>();
+
+    /**
+     * Get or register the accumulator with the given name
+     */
+    public static synchronized LongAccumulator counter(SparkSession spark, String name) {
+        return counters.computeIfAbsent(name, n -> spark.sparkContext().longAccumulator(n));
+    }
+
+    /**
+     * Current driver-side value of a counter, 0 if it was never registered
+     */
+    public static synchronized long value(String name) {
+        LongAccumulator counter = counters.get(name);
+        return counter != null ? counter.value() : 0L;
+    }
+
+    /**
+     * Log every non-zero counter
+     */
+    public static synchronized void logSummary() {
+        for (Map.Entry<String, LongAccumulator> entry : counters.entrySet()) {
+            long value = entry.getValue().value();
+            if (value > 0) {
+                Logger.info("Metric " + entry.getKey() + ": " + value);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -45,6 +46,23 @@ public class Logger {
         System.err.flush();
     }
 
+    /**
+     * Log a structured event at info level; fields are emitted next to the message
+     * so the server can parse them without scraping the text
+     */
+    public static void event(String event, String message, Map<String, Object> fields) {
+        Map<String, Object> logEntry = new LinkedHashMap<>();
+        logEntry.put("timestamp", Instant.now().toString());
+        logEntry.put("level", Level.INFO.getValue());
+        logEntry.put("message", message);
+        logEntry.put("event", event);
+        logEntry.putAll(fields);
+
+        String jsonLog = gson.toJson(logEntry);
+        System.err.println(jsonLog);
+        System.err.flush();
+    }
+
     /**
      * Log info message
      */
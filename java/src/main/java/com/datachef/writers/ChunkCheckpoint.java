@@ -0,0 +1,170 @@
+package com.datachef.writers;
+
+import com.datachef.config.PipeConfig;
+import com.datachef.utils.Logger;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.spark.Spark3Util;
+import org.apache.spark.sql.SparkSession;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks committed source files through Iceberg snapshot summary properties
+ *
+ * Every chunk is committed as its own snapshot tagged with a hash of the pipe's parsing
+ * config and a digest (path, size, modification time) of each file it contains. A re-run
+ * skips the files already committed by the same pipe config, so new files dropped into
+ * the source folder are ingested without re-appending the old ones, and a changed pipe
+ * re-ingests everything. The record lives in snapshot history, so expiring snapshots
+ * also forgets which files were ingested.
+ *
+ * A replacing (overwrite) run also records a digest of its whole file set on its first
+ * commit and marks its last commit complete. Only an incomplete run over the same file
+ * set is resumed; anything else starts a new replacing run, so changed or deleted
+ * source files never leave stale or duplicate rows behind.
+ */
+public class ChunkCheckpoint {
+    public static final String PIPE_HASH_PROPERTY = "datachef.pipe-hash";
+    public static final String FILES_PROPERTY = "datachef.files";
+    public static final String RUN_START_PROPERTY = "datachef.run-start";
+    public static final String RUN_FILES_PROPERTY = "datachef.run-files";
+    public static final String RUN_COMPLETE_PROPERTY = "datachef.run-complete";
+
+    /**
+     * Hash of the pipe settings that decide what a file's rows look like in the table
+     */
+    public static String pipeHash(PipeConfig.Pipe pipe) throws Exception {
+        Gson gson = new Gson();
+        JsonObject parsing = new JsonObject();
+        parsing.add("recordBoundary", gson.toJsonTree(pipe.recordBoundary));
+        parsing.add("schema", gson.toJsonTree(pipe.schema));
+        parsing.add("partitioning", gson.toJsonTree(pipe.partitioning));
+        parsing.add("dedup", gson.toJsonTree(pipe.dedup));
+        parsing.addProperty("table", IcebergWriter.fullTableName(pipe.output));
+        return digest(parsing.toString());
+    }
+
+    /**
+     * Digest identifying one version of a source file
+     */
+    public static String fileKey(FileStatus file) throws Exception {
+        return digest(file.getPath().toString() + "\n" + file.getLen() + "\n" + file.getModificationTime());
+    }
+
+    /**
+     * Digest of a run's whole source file set, independent of listing order
+     */
+    public static String fileSetHash(List<String> fileKeys) throws Exception {
+        List<String> sorted = new ArrayList<>(fileKeys);
+        Collections.sort(sorted);
+        return digest(String.join(",", sorted));
+    }
+
+    /**
+     * Snapshot summary properties tagging a chunk commit
+     *
+     * @param pipeHash    Hash from pipeHash()
+     * @param fileKeys    Keys of the chunk's source files
+     * @param runFiles    fileSetHash() of the run when this commit replaced the table and
+     *                    starts a new run, otherwise null
+     * @param runComplete Whether this is the run's last chunk
+     */
+    public static Map<String, String> snapshotProperties(String pipeHash, List<String> fileKeys, String runFiles,
+                                                         boolean runComplete) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(PIPE_HASH_PROPERTY, pipeHash);
+        properties.put(FILES_PROPERTY, String.join(",", fileKeys));
+        if (runFiles != null) {
+            properties.put(RUN_START_PROPERTY, "true");
+            properties.put(RUN_FILES_PROPERTY, runFiles);
+        }
+        if (runComplete) {
+            properties.put(RUN_COMPLETE_PROPERTY, "true");
+        }
+        return properties;
+    }
+
+    /**
+     * Keys of source files committed with the same pipe hash anywhere in the table's
+     * current lineage, for appending runs. Returns an empty set if the table does not exist yet
+     */
+    public static Set<String> committedFiles(SparkSession spark, String fullTableName, String pipeHash) {
+        Set<String> committed = new HashSet<>();
+        Table table = loadTable(spark, fullTableName);
+        Snapshot snapshot = table != null ? table.currentSnapshot() : null;
+        while (snapshot != null) {
+            if (pipeHash.equals(snapshot.summary().get(PIPE_HASH_PROPERTY))) {
+                addFiles(snapshot, committed);
+            }
+            snapshot = snapshot.parentId() != null ? table.snapshot(snapshot.parentId()) : null;
+        }
+        return committed;
+    }
+
+    /**
+     * Keys of source files committed so far by an interrupted replacing run of the same
+     * pipe over the same file set, or null if there is no such run to resume
+     *
+     * @param runFiles fileSetHash() of the current source files
+     */
+    public static Set<String> resumableRun(SparkSession spark, String fullTableName, String pipeHash,
+                                           String runFiles) {
+        Table table = loadTable(spark, fullTableName);
+        Snapshot snapshot = table != null ? table.currentSnapshot() : null;
+        if (snapshot == null || "true".equals(snapshot.summary().get(RUN_COMPLETE_PROPERTY))) {
+            return null;
+        }
+
+        // Follow the unbroken chain of chunk commits back to the one that started the run
+        Set<String> committed = new HashSet<>();
+        while (snapshot != null) {
+            Map<String, String> summary = snapshot.summary();
+            if (!pipeHash.equals(summary.get(PIPE_HASH_PROPERTY))) {
+                return null;
+            }
+            addFiles(snapshot, committed);
+            if ("true".equals(summary.get(RUN_START_PROPERTY))) {
+                return runFiles.equals(summary.get(RUN_FILES_PROPERTY)) ? committed : null;
+            }
+            snapshot = snapshot.parentId() != null ? table.snapshot(snapshot.parentId()) : null;
+        }
+        return null;
+    }
+
+    private static Table loadTable(SparkSession spark, String fullTableName) {
+        try {
+            return Spark3Util.loadIcebergTable(spark, fullTableName);
+        } catch (Exception e) {
+            Logger.info("No existing table " + fullTableName + ", starting from the first file");
+            return null;
+        }
+    }
+
+    private static void addFiles(Snapshot snapshot, Set<String> committed) {
+        String files = snapshot.summary().get(FILES_PROPERTY);
+        if (files != null && !files.isEmpty()) {
+            Collections.addAll(committed, files.split(","));
+        }
+    }
+
+    private static String digest(String value) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            hex.append(String.format("%02x", hash[i]));
+        }
+        return hex.toString();
+    }
+}
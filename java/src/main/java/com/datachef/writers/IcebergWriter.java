@@ -2,14 +2,32 @@ package com.datachef.writers;
 
 import com.datachef.config.PipeConfig;
 import com.datachef.utils.Logger;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.spark.Spark3Util;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SaveMode;
+import org.apache.spark.sql.SparkSession;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Writer for Iceberg tables
  */
 public class IcebergWriter {
+    private static final String SNAPSHOT_PROPERTY_PREFIX = "snapshot-property.";
+
+    /**
+     * Build full table name: catalog.namespace.tableName
+     */
+    public static String fullTableName(PipeConfig.Output output) {
+        return String.format("%s.%s.%s",
+                output.catalog,
+                output.namespace,
+                output.tableName);
+    }
     
     /**
      * Write DataFrame to Iceberg table
@@ -20,16 +38,27 @@ public class IcebergWriter {
      */
     public static void write(Dataset<Row> df, PipeConfig.Output output, PipeConfig.IcebergConfig iceberg) 
             throws Exception {
+        write(df, output, iceberg, Collections.emptyMap());
+    }
+
+    /**
+     * Write DataFrame to Iceberg table, recording extra properties in the commit's snapshot summary
+     *
+     * @param df                 DataFrame to write
+     * @param output             Output configuration
+     * @param iceberg            Iceberg configuration
+     * @param snapshotProperties Properties stored in the snapshot summary
+     */
+    public static void write(Dataset<Row> df, PipeConfig.Output output, PipeConfig.IcebergConfig iceberg,
+                             Map<String, String> snapshotProperties) throws Exception {
         
-        // Build full table name: catalog.namespace.tableName
-        String fullTableName = String.format("%s.%s.%s",
-                output.catalog,
-                output.namespace,
-                output.tableName);
+        String fullTableName = fullTableName(output);
+
+        Map<String, String> writeOptions = new HashMap<>();
+        snapshotProperties.forEach((key, value) -> writeOptions.put(SNAPSHOT_PROPERTY_PREFIX + key, value));
 
         Logger.info("Writing data to Iceberg table: " + fullTableName);
         Logger.info("Write mode: " + output.writeMode);
-        Logger.info("Record count: " + df.count());
 
         try {
             // Determine write mode
@@ -40,6 +69,7 @@ public class IcebergWriter {
                 df.writeTo(fullTableName)
                         .using("iceberg")
                         .option("write.format.default", "parquet")
+                        .options(writeOptions)
                         .createOrReplace();
                 
                 Logger.info("Successfully created/replaced Iceberg table: " + fullTableName);
@@ -48,6 +78,7 @@ public class IcebergWriter {
                 df.write()
                         .format("iceberg")
                         .mode(SaveMode.Append)
+                        .options(writeOptions)
                         .save(fullTableName);
                 
                 Logger.info("Successfully appended data to Iceberg table: " + fullTableName);
@@ -55,10 +86,26 @@ public class IcebergWriter {
                 throw new IllegalArgumentException("Unsupported write mode: " + writeMode);
             }
 
+            logCommittedRecords(df.sparkSession(), fullTableName);
+
         } catch (Exception e) {
             Logger.error("Failed to write to Iceberg table: " + fullTableName, e);
             throw e;
         }
     }
-}
 
+    /**
+     * Log the record count of the last commit from its snapshot summary
+     * instead of running a separate count() over the source
+     */
+    private static void logCommittedRecords(SparkSession spark, String fullTableName) {
+        try {
+            Snapshot snapshot = Spark3Util.loadIcebergTable(spark, fullTableName).currentSnapshot();
+            if (snapshot != null) {
+                Logger.info("Record count: " + snapshot.summary().get("added-records"));
+            }
+        } catch (Exception e) {
+            Logger.warn("Could not read snapshot summary for " + fullTableName + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.datachef.writers;
+
+import com.datachef.utils.Logger;
+import org.apache.iceberg.DataOperations;
+import org.apache.iceberg.GenericBlobMetadata;
+import org.apache.iceberg.GenericStatisticsFile;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.StatisticsFile;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.puffin.Blob;
+import org.apache.iceberg.puffin.BlobMetadata;
+import org.apache.iceberg.puffin.Puffin;
+import org.apache.iceberg.puffin.PuffinReader;
+import org.apache.iceberg.puffin.PuffinWriter;
+import org.apache.iceberg.util.Pair;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Data Chef sketches stored as blobs of the table's Puffin statistics files
+ *
+ * Statistics files are registered in table metadata per snapshot, so table maintenance
+ * keeps them (orphan file removal) and drops them with their snapshot (snapshot expiry).
+ * A blob describes the table exactly as of its snapshot, which makes stale sketches
+ * detectable: a commit that did not update a sketch leaves the new snapshot without it.
+ * Engines skip blob types they do not know.
+ */
+public class TableStatistics {
+    private static final String CREATED_BY = "data-chef";
+
+    /**
+     * Blobs by type describing the table as of the given snapshot. Snapshots that only
+     * rewrote files (compaction) are followed back to the last one with statistics.
+     * Returns an empty map if there are none.
+     */
+    public static Map<String, ByteBuffer> read(Table table, Long snapshotId) {
+        Map<String, ByteBuffer> blobs = new HashMap<>();
+
+        Snapshot snapshot = snapshotId != null ? table.snapshot(snapshotId) : null;
+        while (snapshot != null) {
+            StatisticsFile file = statisticsFile(table, snapshot.snapshotId());
+            if (file != null) {
+                try {
+                    readBlobs(table, file).forEach(pair -> blobs.put(pair.first().type(), pair.second()));
+                } catch (Exception e) {
+                    Logger.warn("Failed to read statistics file " + file.path() + ": " + e.getMessage());
+                }
+                break;
+            }
+            if (!DataOperations.REPLACE.equals(snapshot.operation()) || snapshot.parentId() == null) {
+                break;
+            }
+            snapshot = table.snapshot(snapshot.parentId());
+        }
+        return blobs;
+    }
+
+    /**
+     * Attach a blob to the table's current snapshot, replacing any blob of the same type
+     * and keeping the other blobs of that snapshot's statistics file
+     *
+     * @param table    Table, refreshed after the commit the blob describes
+     * @param type     Blob type
+     * @param fieldIds Ids of the columns the blob was computed from
+     * @param data     Blob content
+     */
+    public static void write(Table table, String type, List<Integer> fieldIds, ByteBuffer data) throws IOException {
+        Snapshot snapshot = table.currentSnapshot();
+        if (snapshot == null) {
+            return;
+        }
+
+        List<Blob> blobs = new ArrayList<>();
+        StatisticsFile previous = statisticsFile(table, snapshot.snapshotId());
+        if (previous != null) {
+            for (Pair<BlobMetadata, ByteBuffer> pair : readBlobs(table, previous)) {
+                BlobMetadata metadata = pair.first();
+                if (!type.equals(metadata.type())) {
+                    blobs.add(new Blob(metadata.type(), metadata.inputFields(), metadata.snapshotId(),
+                            metadata.sequenceNumber(), pair.second()));
+                }
+            }
+        }
+        blobs.add(new Blob(type, fieldIds, snapshot.snapshotId(), snapshot.sequenceNumber(), data));
+
+        String path = ((HasTableOperations) table).operations().metadataFileLocation(
+                String.format("%d-%s.stats", snapshot.snapshotId(), UUID.randomUUID()));
+
+        List<org.apache.iceberg.BlobMetadata> written = new ArrayList<>();
+        long fileSize;
+        long footerSize;
+        try (PuffinWriter writer = Puffin.write(table.io().newOutputFile(path)).createdBy(CREATED_BY).build()) {
+            blobs.forEach(writer::add);
+            writer.finish();
+            fileSize = writer.fileSize();
+            footerSize = writer.footerSize();
+            writer.writtenBlobsMetadata().forEach(metadata -> written.add(GenericBlobMetadata.from(metadata)));
+        }
+
+        table.updateStatistics()
+                .setStatistics(snapshot.snapshotId(),
+                        new GenericStatisticsFile(snapshot.snapshotId(), path, fileSize, footerSize, written))
+                .commit();
+
+        if (previous != null) {
+            table.io().deleteFile(previous.path());
+        }
+    }
+
+    private static StatisticsFile statisticsFile(Table table, long snapshotId) {
+        for (StatisticsFile file : table.statisticsFiles()) {
+            if (file.snapshotId() == snapshotId) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static List<Pair<BlobMetadata, ByteBuffer>> readBlobs(Table table, StatisticsFile file)
+            throws IOException {
+        List<Pair<BlobMetadata, ByteBuffer>> blobs = new ArrayList<>();
+        try (PuffinReader reader = Puffin.read(table.io().newInputFile(file.path()))
+                .withFileSize(file.fileSizeInBytes())
+                .withFooterSize(file.fileFooterSizeInBytes())
+                .build()) {
+            for (Pair<BlobMetadata, ByteBuffer> pair : reader.readAll(reader.fileMetadata().blobs())) {
+                blobs.add(pair);
+            }
+        }
+        return blobs;
+    }
+}
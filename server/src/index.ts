@@ -158,14 +158,33 @@ Log file with regex:
         }
     });
 
+    // @ts-ignore - MCP SDK type inference issue
+    server.tool('list_snapshots', 'List the snapshots of an Iceberg table, newest first. Use the ids for time travel or incremental reads.', {
+        tableName: z.string().describe('Iceberg table name (without namespace). Use list_tables to get available tables.')
+    }, async (args: { tableName: string }) => {
+        try {
+            const snapshots = await icebergQuery.listSnapshots(args.tableName);
+            return {
+                content: [{ type: 'text', text: JSON.stringify(snapshots, null, 2) }]
+            };
+        } catch (error) {
+            return {
+                isError: true,
+                content: [{ type: 'text', text: `✗ Failed to list snapshots: ${error}` }]
+            };
+        }
+    });
+
     // @ts-ignore - MCP SDK type inference issue
     server.tool('show_table_data', 'Show sample data from an Iceberg table. Use this to preview table contents, not for complex queries.', {
         tableName: z.string().describe('Iceberg table name (without namespace). Use list_tables to get available tables.'),
-        limit: z.number().optional().default(10).describe('Number of rows to show (1-1000, default: 10)')
-    }, async (args: { tableName: string; limit: number }) => {
-        const { tableName, limit } = args;
+        limit: z.number().optional().default(10).describe('Number of rows to show (1-1000, default: 10)'),
+        snapshotId: z.string().optional().describe('Read the table as of this snapshot id (time travel)'),
+        asOf: z.string().optional().describe('Read the table as of this timestamp (ISO-8601 or epoch millis)')
+    }, async (args: { tableName: string; limit: number; snapshotId?: string; asOf?: string }) => {
+        const { tableName, limit, snapshotId, asOf } = args;
         try {
-            const preview = await icebergQuery.previewTable(tableName, limit);
+            const preview = await icebergQuery.previewTable(tableName, limit, { snapshotId, asOf });
             return {
                 content: [{
                     type: 'text',
@@ -188,15 +207,23 @@ Examples:
 - SELECT * FROM iceberg_catalog.default.logs WHERE level = 'ERROR'
 - SELECT COUNT(*) FROM iceberg_catalog.default.sales GROUP BY category
 - SELECT a.*, b.name FROM iceberg_catalog.default.orders a JOIN iceberg_catalog.default.customers b ON a.customer_id = b.id`),
-        limit: z.number().optional().default(100).describe('Maximum rows to return (1-10000, default: 100)')
-    }, async (args: { sql: string; limit: number }) => {
-        const { sql, limit } = args;
+        limit: z.number().optional().default(100).describe('Maximum rows to return (1-10000, default: 100)'),
+        tableName: z.string().optional().describe(`Table to read at a snapshot or incremental range. Required with the snapshot options below; the SQL must refer to the selected data as <table_name> (qualified names are rejected)`),
+        snapshotId: z.string().optional().describe('Read tableName as of this snapshot id (time travel)'),
+        asOf: z.string().optional().describe('Read tableName as of this timestamp (ISO-8601 or epoch millis)'),
+        fromSnapshot: z.string().optional().describe('Read only rows appended to tableName after this snapshot id. Pass the previous toSnapshotId to poll for new data'),
+        toSnapshot: z.string().optional().describe('End snapshot id (inclusive) of the incremental range, default: current snapshot')
+    }, async (args: { sql: string; limit: number; tableName?: string; snapshotId?: string; asOf?: string; fromSnapshot?: string; toSnapshot?: string }) => {
+        const { sql, limit, tableName, snapshotId, asOf, fromSnapshot, toSnapshot } = args;
         try {
-            const result = await icebergQuery.executeQuery(sql, limit);
+            const result = await icebergQuery.executeQuery(sql, limit, tableName, { snapshotId, asOf, fromSnapshot, toSnapshot });
+            const range = result.toSnapshotId
+                ? `\nSnapshots: ${result.fromSnapshotId} -> ${result.toSnapshotId}`
+                : result.snapshotId ? `\nSnapshot: ${result.snapshotId}` : '';
             return {
                 content: [{
                     type: 'text',
-                    text: `Query: ${result.query}\n\nSchema:\n${result.schema.map(col => `  ${col.name}: ${col.type}`).join('\n')}\n\nResults (${result.rowCount} rows):\n${JSON.stringify(result.rows, null, 2)}`
+                    text: `Query: ${result.query}${range}\n\nSchema:\n${result.schema.map(col => `  ${col.name}: ${col.type}`).join('\n')}\n\nResults (${result.rowCount} rows):\n${JSON.stringify(result.rows, null, 2)}`
                 }]
             };
         } catch (error) {
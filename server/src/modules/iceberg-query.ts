@@ -6,10 +6,25 @@ export interface TableInfo {
     namespace: string;
 }
 
+export interface ColumnProfile {
+    count: number;
+    nullCount: number;
+    nullRate: number;
+    min?: string;
+    max?: string;
+    approxDistinct: number;
+    topK?: Array<{ value: string; count: number }>;
+}
+
 export interface TablePreview {
     schema: Array<{ name: string; type: string }>;
     rows: any[];
     rowCount: number;
+    profile?: {
+        columns: Record<string, ColumnProfile>;
+        snapshotId?: string;
+        complete: boolean;
+    };
 }
 
 export interface QueryResult {
@@ -17,10 +32,69 @@ export interface QueryResult {
     rows: any[];
     rowCount: number;
     query: string;
+    pinnedOnly?: boolean;
+    snapshotId?: string;
+    fromSnapshotId?: string;
+    toSnapshotId?: string;
+}
+
+export interface SnapshotReadOptions {
+    snapshotId?: string;
+    asOf?: string;
+    fromSnapshot?: string;
+    toSnapshot?: string;
+}
+
+export interface SnapshotInfo {
+    snapshotId: string;
+    parentId?: string;
+    timestamp: string;
+    operation: string;
+    addedRecords?: string;
+}
+
+const SNAPSHOT_CACHE_SIZE = 50;
+
+function snapshotArgs(options: SnapshotReadOptions): string[] {
+    const args: string[] = [];
+    if (options.snapshotId) args.push('--snapshot-id', options.snapshotId);
+    if (options.asOf) args.push('--as-of', options.asOf);
+    if (options.fromSnapshot) args.push('--from-snapshot', options.fromSnapshot);
+    if (options.toSnapshot) args.push('--to-snapshot', options.toSnapshot);
+    return args;
+}
+
+function isPinned(options: SnapshotReadOptions): boolean {
+    return Boolean(options.snapshotId || (options.fromSnapshot && options.toSnapshot));
 }
 
 class IcebergQueryService extends JavaSparkExecutor {
-    async executeQuery(sql: string, limit: number = 100): Promise<QueryResult> {
+    private snapshotCache: Map<string, any> = new Map();
+
+    private getCached(key: string): any {
+        return this.snapshotCache.get(key);
+    }
+
+    private setCached(key: string, value: any): void {
+        this.snapshotCache.delete(key);
+        this.snapshotCache.set(key, value);
+        if (this.snapshotCache.size > SNAPSHOT_CACHE_SIZE) {
+            const oldest = this.snapshotCache.keys().next().value;
+            if (oldest !== undefined) this.snapshotCache.delete(oldest);
+        }
+    }
+
+    async executeQuery(
+        sql: string,
+        limit: number = 100,
+        tableName?: string,
+        options: SnapshotReadOptions = {}
+    ): Promise<QueryResult> {
+        const cacheKey = isPinned(options) ? JSON.stringify(['query', sql, limit, tableName, options]) : null;
+        if (cacheKey && this.snapshotCache.has(cacheKey)) {
+            return this.getCached(cacheKey);
+        }
+
         const config = getConfig();
 
         const configJson = JSON.stringify({
@@ -31,7 +105,12 @@ class IcebergQueryService extends JavaSparkExecutor {
 
         const result = await this.executeJava(
             'query',
-            ['--sql', sql, '--limit', limit.toString()],
+            [
+                '--sql', sql,
+                '--limit', limit.toString(),
+                ...(tableName ? ['--table', tableName] : []),
+                ...snapshotArgs(options)
+            ],
             configJson,
             undefined,
             (data) => {
@@ -42,7 +121,9 @@ class IcebergQueryService extends JavaSparkExecutor {
         );
 
         if (result.success && result.data) {
-            return { ...result.data, query: sql };
+            const queryResult = { ...result.data, query: sql };
+            if (cacheKey && queryResult.pinnedOnly) this.setCached(cacheKey, queryResult);
+            return queryResult;
         }
 
         throw new Error(result.error || 'Failed to execute query');
@@ -76,7 +157,12 @@ class IcebergQueryService extends JavaSparkExecutor {
         throw new Error(result.error || 'Failed to list tables');
     }
 
-    async previewTable(tableName: string, limit: number = 10): Promise<TablePreview> {
+    async previewTable(tableName: string, limit: number = 10, options: SnapshotReadOptions = {}): Promise<TablePreview> {
+        const cacheKey = isPinned(options) ? JSON.stringify(['preview', tableName, limit, options]) : null;
+        if (cacheKey && this.snapshotCache.has(cacheKey)) {
+            return this.getCached(cacheKey);
+        }
+
         const config = getConfig();
 
         const configJson = JSON.stringify({
@@ -87,7 +173,7 @@ class IcebergQueryService extends JavaSparkExecutor {
 
         const result = await this.executeJava(
             'preview',
-            ['--table', tableName, '--limit', limit.toString()],
+            ['--table', tableName, '--limit', limit.toString(), ...snapshotArgs(options)],
             configJson,
             undefined,
             (data) => {
@@ -98,11 +184,42 @@ class IcebergQueryService extends JavaSparkExecutor {
         );
 
         if (result.success && result.data) {
-            return result.data;
+            if (!cacheKey) return result.data;
+            const { profile, ...preview } = result.data;
+            this.setCached(cacheKey, preview);
+            return preview;
         }
 
         throw new Error(result.error || 'Failed to preview table');
     }
+
+    async listSnapshots(tableName: string): Promise<{ currentSnapshotId?: string; snapshots: SnapshotInfo[] }> {
+        const config = getConfig();
+
+        const configJson = JSON.stringify({
+            minio: config.minio,
+            spark: config.spark,
+            iceberg: config.iceberg
+        });
+
+        const result = await this.executeJava(
+            'snapshots',
+            ['--table', tableName],
+            configJson,
+            undefined,
+            (data) => {
+                this.parseJsonLogs(data, (level, message) => {
+                    console.log(`${LOG_TAGS.TABLES}:${level}] ${message}`);
+                });
+            }
+        );
+
+        if (result.success && result.data) {
+            return result.data;
+        }
+
+        throw new Error(result.error || 'Failed to list snapshots');
+    }
 }
 
 export const icebergQuery = new IcebergQueryService();
@@ -1,6 +1,7 @@
 import { spawn, ChildProcess } from 'child_process';
 import { join } from 'path';
 import { getConfig, JAVA_SPARK_JAR_PATH, JVM_OPTIONS, DEFAULT_JAVA_HOME } from '../config';
+import type { ProgressEvent } from '../types';
 
 export interface JavaExecutionResult {
     success: boolean;
@@ -14,7 +15,8 @@ export class JavaSparkExecutor {
         additionalArgs: string[],
         configJson: string,
         onStdout?: (data: string) => void,
-        onStderr?: (data: string) => void
+        onStderr?: (data: string) => void,
+        onSpawn?: (process: ChildProcess) => void
     ): Promise<JavaExecutionResult> {
         const config = getConfig();
         const javaHome = (config.spark as any).javaHome || process.env.JAVA_HOME || DEFAULT_JAVA_HOME;
@@ -38,6 +40,10 @@ export class JavaSparkExecutor {
                 }
             });
 
+            if (onSpawn) {
+                onSpawn(javaProcess);
+            }
+
             let stdout = '';
             let stderr = '';
 
@@ -95,7 +101,10 @@ export class JavaSparkExecutor {
         return JSON.parse(jsonLine);
     }
 
-    protected parseJsonLogs(stderr: string, onLog: (level: string, message: string) => void): void {
+    protected parseJsonLogs(
+        stderr: string,
+        onLog: (level: string, message: string, data?: ProgressEvent) => void
+    ): void {
         const lines = stderr.trim().split('\n');
         lines.forEach(line => {
             const trimmed = line.trim();
@@ -103,7 +112,8 @@ export class JavaSparkExecutor {
                 try {
                     const log = JSON.parse(trimmed);
                     if (log.level && log.message) {
-                        onLog(log.level, log.message);
+                        const { timestamp, level, message, ...fields } = log;
+                        onLog(level, message, fields.event === 'progress' ? fields as ProgressEvent : undefined);
                     }
                 } catch {
                 }
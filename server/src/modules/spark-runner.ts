@@ -1,14 +1,17 @@
 import { ChildProcess } from 'child_process';
-import { getConfig } from '../config';
+import { getConfig, LOG_TAGS } from '../config';
 import { pipeManager } from './pipe-manager';
 import { minioStorage } from './minio-storage';
 import { JavaSparkExecutor } from './java-executor';
-import type { ExecutionLog, ExecutionStatus } from '../types';
+import type { ExecutionLog, ExecutionStatus, Pipe, ProgressEvent } from '../types';
+
+const CANCEL_GRACE_MS = 30000;
 
 interface SparkProcess {
     process: ChildProcess;
     pipeId: string;
     status: ExecutionStatus;
+    progress?: ProgressEvent;
 }
 
 class SparkRunnerService extends JavaSparkExecutor {
@@ -57,16 +60,25 @@ class SparkRunnerService extends JavaSparkExecutor {
                 }
             },
             (data) => {
-                this.parseJsonLogs(data, (level, message) => {
+                this.parseJsonLogs(data, (level, message, progress) => {
+                    if (progress && this.currentProcess) {
+                        this.currentProcess.progress = progress;
+                    }
                     onLog({
                         timestamp: new Date().toISOString(),
                         level: level as ExecutionLog['level'],
-                        message
+                        message,
+                        data: progress
                     });
                 });
+            },
+            (javaProcess) => {
+                this.currentProcess = { process: javaProcess, pipeId, status: 'running' };
             }
         );
 
+        this.currentProcess = null;
+
         if (result.success) {
             logMessage('info', 'Spark job completed successfully');
         } else {
@@ -76,17 +88,51 @@ class SparkRunnerService extends JavaSparkExecutor {
         return result;
     }
 
-    getSparkStatus(): { running: boolean; pipeId?: string } {
+    async dryRunPipe(
+        pipe: Pipe,
+        sourcePath: string,
+        limit: number = 100,
+        files: number = 3
+    ): Promise<{ success: boolean; data?: any; error?: string }> {
+        const config = getConfig();
+
+        const pipeConfig = JSON.stringify({
+            pipe,
+            sourcePath: minioStorage.getS3Path(sourcePath),
+            minio: config.minio,
+            spark: config.spark,
+            iceberg: config.iceberg
+        });
+
+        return this.executeJava(
+            'dryrun',
+            ['--limit', limit.toString(), '--files', files.toString()],
+            pipeConfig,
+            undefined,
+            (data) => {
+                this.parseJsonLogs(data, (level, message) => {
+                    console.log(`${LOG_TAGS.PIPE}:${level}] ${message}`);
+                });
+            }
+        );
+    }
+
+    getSparkStatus(): { running: boolean; pipeId?: string; progress?: ProgressEvent } {
         if (this.currentProcess && this.currentProcess.status === 'running') {
-            return { running: true, pipeId: this.currentProcess.pipeId };
+            return { running: true, pipeId: this.currentProcess.pipeId, progress: this.currentProcess.progress };
         }
         return { running: false };
     }
 
     cancelSparkJob(): boolean {
         if (this.currentProcess && this.currentProcess.process) {
-            this.currentProcess.process.kill('SIGTERM');
-            this.currentProcess = null;
+            const javaProcess = this.currentProcess.process;
+
+            javaProcess.stdin?.write(JSON.stringify({ command: 'cancel' }) + '\n');
+            const killTimer = setTimeout(() => javaProcess.kill('SIGTERM'), CANCEL_GRACE_MS);
+            javaProcess.once('close', () => clearTimeout(killTimer));
+
+            this.currentProcess.status = 'cancelled';
             return true;
         }
         return false;
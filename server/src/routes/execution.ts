@@ -38,6 +38,38 @@ executionRouter.post('/', async (req, res) => {
     }
 });
 
+executionRouter.post('/dryrun', async (req, res) => {
+    const { pipeId, sourcePath, limit, files } = req.body;
+    const pipe = req.body.pipe || (pipeId ? pipeManager.getPipe(pipeId) : undefined);
+
+    if (!pipe) {
+        res.status(pipeId ? 404 : 400).json({ error: pipeId ? 'Pipe not found' : 'pipe or pipeId is required' });
+        return;
+    }
+
+    const pathToUse = sourcePath || pipe.storagePath;
+    if (!pathToUse) {
+        res.status(400).json({ error: 'sourcePath is required' });
+        return;
+    }
+
+    try {
+        const result = await sparkRunner.dryRunPipe(
+            pipe,
+            pathToUse,
+            parseInt(limit) || undefined,
+            parseInt(files) || undefined
+        );
+        if (result.success) {
+            res.json(result.data);
+        } else {
+            res.status(500).json({ error: result.error });
+        }
+    } catch (error) {
+        res.status(500).json({ error: (error as Error).message });
+    }
+});
+
 executionRouter.get('/status', (_req, res) => {
     res.json(sparkRunner.getSparkStatus());
 });
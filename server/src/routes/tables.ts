@@ -14,12 +14,23 @@ tablesRouter.get('/', async (_req, res) => {
     }
 });
 
+tablesRouter.get('/:name/snapshots', async (req, res) => {
+    try {
+        const snapshots = await icebergQuery.listSnapshots(req.params.name);
+        res.json(snapshots);
+    } catch (error) {
+        console.error(`${LOG_TAGS.TABLES} Snapshots error:`, error);
+        res.status(500).json({ error: 'Failed to list snapshots' });
+    }
+});
+
 tablesRouter.get('/:name', async (req, res) => {
     const tableName = req.params.name;
     const limit = parseInt(req.query.limit as string) || 10;
+    const { snapshotId, asOf, fromSnapshot, toSnapshot } = req.query as Record<string, string | undefined>;
 
     try {
-        const preview = await icebergQuery.previewTable(tableName, limit);
+        const preview = await icebergQuery.previewTable(tableName, limit, { snapshotId, asOf, fromSnapshot, toSnapshot });
         res.json(preview);
     } catch (error) {
         console.error(`${LOG_TAGS.TABLES} Preview error:`, error);
@@ -14,6 +14,8 @@ export interface Pipe {
 
     partitioning: Partitioning;
 
+    dedup?: DedupConfig;
+
     output: OutputConfig;
 
     createdAt: string;
@@ -22,6 +24,7 @@ export interface Pipe {
 
 export interface FilePattern {
     extension: string;         // 'csv', 'json', 'parquet', 'log'
+    names?: string[];          // sourcePath 내 명시적 파일명 (extension보다 우선)
 }
 
 export interface RecordBoundary {
@@ -33,6 +36,8 @@ export interface RecordBoundary {
     encoding?: string;         // 'utf-8'
     lineSeparator?: string;    // '\n'
     multilinePattern?: string; // 멀티라인 레코드 패턴
+    multiLine?: boolean;       // json: 여러 줄 JSON / 최상위 배열 파일을 스트리밍으로 읽기
+    splitSizeMb?: number;      // json multiLine: 대용량 파일 분할 크기 (기본 128)
 
     // 필드 추출 설정 (레코드 내에서 필드를 파싱)
     fieldExtraction?: FieldExtraction;
@@ -58,6 +63,7 @@ export interface FieldExtraction {
 
     // 추출 실패 시 처리
     onError?: 'skip' | 'null' | 'fail';
+    maxRejects?: number;       // fail 모드: 중단 전까지 허용하는 거부 레코드 수 (기본 0)
 
     // 필드별 후처리 (trim, 타입 변환 등)
     fieldProcessing?: FieldProcessing[];
@@ -96,6 +102,8 @@ export interface SchemaColumn {
     nullable: boolean;
     description?: string;
     format?: string;           // 날짜/시간 포맷 등
+    precision?: number;        // decimal 정밀도
+    scale?: number;            // decimal 소수 자릿수
 }
 
 export type ColumnType =
@@ -131,11 +139,23 @@ export type PartitionTransform =
     | 'day'
     | 'hour';
 
+// 중복 제거 설정
+export interface DedupConfig {
+    enabled: boolean;
+    mode: 'exact' | 'bloom';   // exact: 배치 내 + 기존 데이터 anti-join, bloom: 테이블별 Bloom filter
+    keys?: string[];           // 키 컬럼 (없으면 레코드 전체)
+    expectedItems?: number;    // bloom: 예상 고유 키 수 (기본 10,000,000)
+    fpp?: number;              // bloom: 오탐률 (기본 0.01)
+}
+
 export interface OutputConfig {
     tableName: string;         // 'processed_logs'
     catalog: string;           // 'iceberg_catalog'
     namespace: string;         // 'default'
     writeMode: 'append' | 'overwrite' | 'upsert';
+    quarantineTable?: string;  // 거부된 레코드를 기록할 테이블 (선택)
+    chunkSize?: number;        // 청크당 파일 수 - 설정 시 청크 단위로 커밋하고 재실행 시 이어서 처리
+    profile?: boolean;         // 쓰기와 같은 패스에서 컬럼 프로파일(null 수, min/max, 근사 distinct, 고유값 1000개 이하 컬럼의 top-K) 수집 (기본 true)
     properties?: Record<string, string>;
 }
 
@@ -166,6 +186,22 @@ export interface ExecutionLog {
     timestamp: string;
     level: 'info' | 'warn' | 'error' | 'debug';
     message: string;
+    data?: ProgressEvent;      // 진행률 이벤트의 구조화된 필드
+}
+
+// Spark 작업 진행률 이벤트 (Java Logger.event "progress")
+export interface ProgressEvent {
+    event: 'progress';
+    bytesRead: number;
+    bytesTotal: number;
+    recordsRead: number;
+    filesRead: number;
+    filesTotal: number;
+    tasksCompleted: number;
+    tasksTotal: number;
+    elapsedMs: number;
+    percent?: number;
+    etaMs?: number;
 }
 
 // 파일 정보